@@ -9,7 +9,7 @@ public class Main {
             try {
 
                 UIManager.setLookAndFeel(UIManager.getCrossPlatformLookAndFeelClassName());
-                new MainFrame().setVisible(true);
+                new MainFrame(args).setVisible(true);
             } catch (Exception e) {
                 e.printStackTrace();
             }
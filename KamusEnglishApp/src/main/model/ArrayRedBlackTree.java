@@ -0,0 +1,396 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ArrayRedBlackTree implements WordIndex {
+    private static final int NIL = 0;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] keys;
+    private Word[] words;
+    private Word[][] earlier;
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] red;
+    private int root;
+    private int size;
+
+    public ArrayRedBlackTree() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public ArrayRedBlackTree(int capacity) {
+        int length = Math.max(2, capacity + 1);
+        keys = new String[length];
+        words = new Word[length];
+        left = new int[length];
+        right = new int[length];
+        parent = new int[length];
+        red = new boolean[length];
+        root = NIL;
+        size = 0;
+    }
+
+    public static ArrayRedBlackTree fromSorted(String[] sortedKeys, Word[] sortedWords, int count) {
+        ArrayRedBlackTree tree = new ArrayRedBlackTree(count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                int cmp = sortedKeys[i - 1].compareTo(sortedKeys[i]);
+                if (cmp > 0) {
+                    throw new IllegalArgumentException("Keys are not sorted at index " + i + ": " + sortedKeys[i]);
+                }
+                if (cmp == 0) {
+                    tree.addWord(tree.size, sortedWords[i]);
+                    continue;
+                }
+            }
+            int node = ++tree.size;
+            tree.keys[node] = sortedKeys[i];
+            tree.words[node] = sortedWords[i];
+        }
+
+        if (tree.size > 0) {
+            tree.root = tree.link(1, tree.size, 0, computeRedLevel(tree.size));
+            tree.parent[tree.root] = NIL;
+            tree.red[tree.root] = false;
+        }
+        return tree;
+    }
+
+    private int link(int lo, int hi, int level, int redLevel) {
+        if (lo > hi) {
+            return NIL;
+        }
+        int mid = (lo + hi) >>> 1;
+        red[mid] = level == redLevel;
+        left[mid] = link(lo, mid - 1, level + 1, redLevel);
+        right[mid] = link(mid + 1, hi, level + 1, redLevel);
+        if (left[mid] != NIL) {
+            parent[left[mid]] = mid;
+        }
+        if (right[mid] != NIL) {
+            parent[right[mid]] = mid;
+        }
+        return mid;
+    }
+
+    private static int computeRedLevel(int count) {
+        int level = 0;
+        for (int m = count - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
+    }
+
+    public void insert(String key, Word word) {
+        String foldedKey = KeyNormalizer.fold(key);
+
+        int p = NIL;
+        int current = root;
+        int cmp = 0;
+        while (current != NIL) {
+            p = current;
+            cmp = foldedKey.compareTo(keys[current]);
+            if (cmp < 0) {
+                current = left[current];
+            } else if (cmp > 0) {
+                current = right[current];
+            } else {
+                addWord(current, word);
+                return;
+            }
+        }
+
+        ensureCapacity(size + 2);
+        int node = ++size;
+        keys[node] = foldedKey;
+        words[node] = word;
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = p;
+        red[node] = true;
+
+        if (p == NIL) {
+            root = node;
+        } else if (cmp < 0) {
+            left[p] = node;
+        } else {
+            right[p] = node;
+        }
+        fixInsert(node);
+    }
+
+    private void addWord(int node, Word word) {
+        if (earlier == null) {
+            earlier = new Word[keys.length][];
+        }
+        Word[] previous = earlier[node];
+        if (previous == null) {
+            earlier[node] = new Word[] { words[node] };
+        } else {
+            Word[] grown = Arrays.copyOf(previous, previous.length + 1);
+            grown[previous.length] = words[node];
+            earlier[node] = grown;
+        }
+        words[node] = word;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= keys.length) {
+            return;
+        }
+        int length = Math.max(required, keys.length * 2);
+        keys = Arrays.copyOf(keys, length);
+        words = Arrays.copyOf(words, length);
+        left = Arrays.copyOf(left, length);
+        right = Arrays.copyOf(right, length);
+        parent = Arrays.copyOf(parent, length);
+        red = Arrays.copyOf(red, length);
+        if (earlier != null) {
+            earlier = Arrays.copyOf(earlier, length);
+        }
+    }
+
+    private void fixInsert(int node) {
+        while (node != root && red[parent[node]]) {
+            int p = parent[node];
+            int g = parent[p];
+            if (p == right[g]) {
+                int uncle = left[g];
+                if (red[uncle]) {
+                    red[uncle] = false;
+                    red[p] = false;
+                    red[g] = true;
+                    node = g;
+                } else {
+                    if (node == left[p]) {
+                        node = p;
+                        rightRotate(node);
+                    }
+                    red[parent[node]] = false;
+                    red[parent[parent[node]]] = true;
+                    leftRotate(parent[parent[node]]);
+                }
+            } else {
+                int uncle = right[g];
+                if (red[uncle]) {
+                    red[uncle] = false;
+                    red[p] = false;
+                    red[g] = true;
+                    node = g;
+                } else {
+                    if (node == right[p]) {
+                        node = p;
+                        leftRotate(node);
+                    }
+                    red[parent[node]] = false;
+                    red[parent[parent[node]]] = true;
+                    rightRotate(parent[parent[node]]);
+                }
+            }
+        }
+        red[root] = false;
+    }
+
+    private void leftRotate(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        if (left[y] != NIL) {
+            parent[left[y]] = x;
+        }
+        parent[y] = parent[x];
+        if (parent[x] == NIL) {
+            root = y;
+        } else if (x == left[parent[x]]) {
+            left[parent[x]] = y;
+        } else {
+            right[parent[x]] = y;
+        }
+        left[y] = x;
+        parent[x] = y;
+    }
+
+    private void rightRotate(int x) {
+        int y = left[x];
+        left[x] = right[y];
+        if (right[y] != NIL) {
+            parent[right[y]] = x;
+        }
+        parent[y] = parent[x];
+        if (parent[x] == NIL) {
+            root = y;
+        } else if (x == right[parent[x]]) {
+            right[parent[x]] = y;
+        } else {
+            left[parent[x]] = y;
+        }
+        right[y] = x;
+        parent[x] = y;
+    }
+
+    private int searchNode(CharSequence key) {
+        int current = root;
+        while (current != NIL) {
+            int cmp = KeyNormalizer.compare(key, keys[current]);
+            if (cmp == 0) {
+                return current;
+            }
+            current = cmp < 0 ? left[current] : right[current];
+        }
+        return NIL;
+    }
+
+    int ceilingNode(CharSequence key) {
+        int current = root;
+        int ceiling = NIL;
+        while (current != NIL) {
+            int cmp = KeyNormalizer.compare(key, keys[current]);
+            if (cmp == 0) {
+                return current;
+            } else if (cmp < 0) {
+                ceiling = current;
+                current = left[current];
+            } else {
+                current = right[current];
+            }
+        }
+        return ceiling;
+    }
+
+    private int first() {
+        int current = root;
+        while (current != NIL && left[current] != NIL) {
+            current = left[current];
+        }
+        return current;
+    }
+
+    int successor(int node) {
+        if (right[node] != NIL) {
+            int current = right[node];
+            while (left[current] != NIL) {
+                current = left[current];
+            }
+            return current;
+        }
+        int p = parent[node];
+        while (p != NIL && node == right[p]) {
+            node = p;
+            p = parent[p];
+        }
+        return p;
+    }
+
+    private void collectWords(int node, List<Word> out) {
+        if (earlier != null && earlier[node] != null) {
+            for (Word word : earlier[node]) {
+                out.add(word);
+            }
+        }
+        if (words[node] != null) {
+            out.add(words[node]);
+        }
+    }
+
+    String keyAt(int node) {
+        return keys[node];
+    }
+
+    int wordCountAt(int node) {
+        int older = earlier != null && earlier[node] != null ? earlier[node].length : 0;
+        return words[node] != null ? older + 1 : older;
+    }
+
+    Word wordAt(int node, int index) {
+        return earlier != null && earlier[node] != null && index < earlier[node].length ? earlier[node][index]
+                                                                                     : words[node];
+    }
+
+    String[] sortedKeys() {
+        return Arrays.copyOfRange(keys, 1, size + 1);
+    }
+
+    List<Word> wordsAt(int node) {
+        if (words[node] == null && (earlier == null || earlier[node] == null)) {
+            return Collections.emptyList();
+        }
+        List<Word> result = new ArrayList<>(2);
+        collectWords(node, result);
+        return result;
+    }
+
+    @Override
+    public Word search(CharSequence key) {
+        int node = searchNode(key);
+        return node != NIL ? words[node] : null;
+    }
+
+    @Override
+    public List<Word> searchAll(CharSequence key) {
+        List<Word> result = new ArrayList<>();
+        int node = searchNode(key);
+        if (node != NIL) {
+            collectWords(node, result);
+        }
+        return result;
+    }
+
+    public boolean contains(CharSequence key) {
+        return searchNode(key) != NIL;
+    }
+
+    @Override
+    public List<Word> getRecommendations(CharSequence prefix, int limit) {
+        List<Word> recommendations = new ArrayList<>();
+        int node = ceilingNode(prefix);
+        while (node != NIL && recommendations.size() < limit && KeyNormalizer.startsWith(keys[node], prefix)) {
+            collectWords(node, recommendations);
+            node = successor(node);
+        }
+        if (recommendations.size() > limit) {
+            recommendations.subList(limit, recommendations.size()).clear();
+        }
+        return recommendations;
+    }
+
+    @Override
+    public List<Word> getAllWordsInOrder() {
+        List<Word> result = new ArrayList<>(size);
+        for (int node = first(); node != NIL; node = successor(node)) {
+            collectWords(node, result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getAllKeysInOrder() {
+        List<String> result = new ArrayList<>(size);
+        for (int node = first(); node != NIL; node = successor(node)) {
+            result.add(keys[node]);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(words, null);
+        earlier = null;
+        root = NIL;
+        size = 0;
+    }
+}
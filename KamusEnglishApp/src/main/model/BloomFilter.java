@@ -0,0 +1,130 @@
+package main.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder rejected;
+    private final LongAdder passed;
+    private final LongAdder falsePositives;
+
+    public BloomFilter(int expectedKeys, double falsePositiveRate) {
+        int keys = Math.max(1, expectedKeys);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        m = Math.max(64, (m + 63) & ~63L);
+
+        this.bits = new AtomicLongArray((int) (m >>> 6));
+        this.bitCount = m;
+        this.hashCount = Math.max(1, (int) Math.round((double) m / keys * ln2));
+        this.rejected = new LongAdder();
+        this.passed = new LongAdder();
+        this.falsePositives = new LongAdder();
+    }
+
+    private BloomFilter(BloomFilter source) {
+        long[] words = new long[source.bits.length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = source.bits.get(i);
+        }
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = source.bitCount;
+        this.hashCount = source.hashCount;
+        this.rejected = new LongAdder();
+        this.passed = new LongAdder();
+        this.falsePositives = new LongAdder();
+    }
+
+    public BloomFilter copy() {
+        return new BloomFilter(this);
+    }
+
+    public static BloomFilter of(String[] keys, double falsePositiveRate) {
+        BloomFilter filter = new BloomFilter(keys.length, falsePositiveRate);
+        for (String key : keys) {
+            filter.add(key);
+        }
+        return filter;
+    }
+
+    public void add(CharSequence key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits.get(index) & mask) == 0) {
+                bits.accumulateAndGet(index, mask, (current, set) -> current | set);
+            }
+        }
+    }
+
+    public boolean mightContain(CharSequence key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                rejected.increment();
+                return false;
+            }
+        }
+        passed.increment();
+        return true;
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    private static long hash1(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= Character.toLowerCase(key.charAt(i));
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long hash2(CharSequence key) {
+        long h = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ Character.toLowerCase(key.charAt(i))) * 0xbf58476d1ce4e5b9L;
+            h ^= h >>> 31;
+        }
+        return h | 1;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            set += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    public double getObservedFalsePositiveRate() {
+        long negatives = rejected.sum() + falsePositives.sum();
+        return negatives == 0 ? 0.0 : (double) falsePositives.sum() / negatives;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getPassedCount() {
+        return passed.sum();
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+}
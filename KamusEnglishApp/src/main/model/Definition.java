@@ -0,0 +1,14 @@
+package main.model;
+
+public class Definition {
+    private final String english;
+    private final String indonesian;
+
+    public Definition(String english, String indonesian) {
+        this.english = english;
+        this.indonesian = indonesian;
+    }
+
+    public String getEnglish() { return english; }
+    public String getIndonesian() { return indonesian; }
+}
@@ -0,0 +1,229 @@
+package main.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DefinitionStore {
+    private static final byte SEPARATOR = '|';
+    private static final int DEFAULT_CACHE_SIZE = 64;
+    private static final long SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private final MappedByteBuffer buffer;
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+    private final long[] hashes;
+    private final int[] slots;
+    private final Map<Integer, Definition> cache;
+
+    private DefinitionStore(MappedByteBuffer buffer, int cacheSize) {
+        this.buffer = buffer;
+
+        int limit = buffer.limit();
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        long[] keyHashes = new long[16];
+        int count = 0;
+
+        int position = 0;
+        while (position < limit) {
+            int end = position;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            int lineEnd = end > position && buffer.get(end - 1) == '\r' ? end - 1 : end;
+
+            if (lineEnd > position && buffer.get(position) != '#') {
+                int first = indexOf(position, lineEnd);
+                int second = first < 0 ? -1 : indexOf(first + 1, lineEnd);
+                if (second < 0) {
+                    System.out.println("Skipping malformed definition entry at byte " + position);
+                    position = end + 1;
+                    continue;
+                }
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                    keyHashes = Arrays.copyOf(keyHashes, count * 2);
+                }
+                starts[count] = position;
+                ends[count] = lineEnd;
+                keyHashes[count] = hashBytes(hashBytes(SEED, position, first), first + 1, second);
+                count++;
+            }
+            position = end + 1;
+        }
+
+        this.lineStarts = Arrays.copyOf(starts, count);
+        this.lineEnds = Arrays.copyOf(ends, count);
+
+        long[] lineHashes = keyHashes;
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(lineHashes[a], lineHashes[b]));
+        this.hashes = new long[count];
+        this.slots = new int[count];
+        for (int i = 0; i < count; i++) {
+            hashes[i] = keyHashes[order[i]];
+            slots[i] = order[i];
+        }
+
+        this.cache = new LinkedHashMap<Integer, Definition>(cacheSize * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Definition> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public static DefinitionStore open(String file) throws IOException {
+        return open(Paths.get(file), DEFAULT_CACHE_SIZE);
+    }
+
+    public static DefinitionStore open(Path path, int cacheSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Definition file too large: " + path);
+            }
+            return new DefinitionStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), cacheSize);
+        }
+    }
+
+    public static DefinitionStore openIfExists(String file) {
+        if (!Files.isRegularFile(Paths.get(file))) {
+            return null;
+        }
+        try {
+            return open(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public Definition get(Word word) {
+        int slot = find(hashChars(hashChars(SEED, word.getEnglish()), word.getIndonesian()), word);
+        if (slot < 0) {
+            return null;
+        }
+
+        synchronized (cache) {
+            Definition cached = cache.get(slot);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        int first = indexOf(lineStarts[slot], lineEnds[slot]);
+        int second = indexOf(first + 1, lineEnds[slot]);
+        int separator = indexOf(second + 1, lineEnds[slot]);
+        Definition definition = separator < 0
+            ? new Definition(decode(second + 1, lineEnds[slot]), "")
+            : new Definition(decode(second + 1, separator), decode(separator + 1, lineEnds[slot]));
+
+        synchronized (cache) {
+            cache.put(slot, definition);
+        }
+        return definition;
+    }
+
+    private int find(long hash, Word word) {
+        int lo = 0;
+        int hi = hashes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (hashes[mid] < hash) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        for (int i = lo; i < hashes.length && hashes[i] == hash; i++) {
+            int slot = slots[i];
+            int first = indexOf(lineStarts[slot], lineEnds[slot]);
+            int second = indexOf(first + 1, lineEnds[slot]);
+            if (decode(lineStarts[slot], first).equalsIgnoreCase(word.getEnglish())
+                    && decode(first + 1, second).equalsIgnoreCase(word.getIndonesian())) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return lineStarts.length;
+    }
+
+    private int indexOf(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == SEPARATOR) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private long hashBytes(long hash, int from, int to) {
+        while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+            to--;
+        }
+        int i = from;
+        while (i < to) {
+            int b = buffer.get(i++) & 0xFF;
+            int codePoint;
+            if (b < 0x80) {
+                codePoint = b;
+            } else if (b < 0xE0) {
+                codePoint = (b & 0x1F) << 6 | continuation(i++);
+            } else if (b < 0xF0) {
+                codePoint = (b & 0x0F) << 12 | continuation(i++) << 6 | continuation(i++);
+            } else {
+                codePoint = (b & 0x07) << 18 | continuation(i++) << 12 | continuation(i++) << 6 | continuation(i++);
+            }
+            if (Character.isBmpCodePoint(codePoint)) {
+                hash = mix(hash, (char) codePoint);
+            } else {
+                hash = mix(mix(hash, Character.highSurrogate(codePoint)), Character.lowSurrogate(codePoint));
+            }
+        }
+        return mix(hash, (char) SEPARATOR);
+    }
+
+    private int continuation(int index) {
+        return buffer.get(index) & 0x3F;
+    }
+
+    private static long hashChars(long hash, String field) {
+        String trimmed = field.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            hash = mix(hash, trimmed.charAt(i));
+        }
+        return mix(hash, (char) SEPARATOR);
+    }
+
+    private static long mix(long hash, char c) {
+        return (hash ^ Character.toLowerCase(c)) * PRIME;
+    }
+
+    private String decode(int from, int to) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(to).position(from);
+        return StandardCharsets.UTF_8.decode(view).toString().trim();
+    }
+}
@@ -1,1075 +1,613 @@
 package main.model;
 
+import main.util.Constants;
+import main.util.KeyNormalizer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 public class Dictionary {
-    private List<Word> words;
-    
-    public Dictionary() {
-        words = new ArrayList<>();
-        initializeDictionary();
-    }
-    
-    private void initializeDictionary() {
-        words.add(new Word("abandon", "meninggalkan", "verb"));
-        words.add(new Word("ability", "kemampuan", "noun"));
-        words.add(new Word("able", "mampu", "adjective"));
-        words.add(new Word("about", "tentang", "preposition"));
-        words.add(new Word("above", "di atas", "preposition"));
-        words.add(new Word("abroad", "luar negeri", "adverb"));
-        words.add(new Word("absence", "ketidakhadiran", "noun"));
-        words.add(new Word("absolute", "mutlak", "adjective"));
-        words.add(new Word("accept", "menerima", "verb"));
-        words.add(new Word("accident", "kecelakaan", "noun"));
-        words.add(new Word("account", "akun", "noun"));
-        words.add(new Word("achieve", "mencapai", "verb"));
-        words.add(new Word("across", "menyeberang", "preposition"));
-        words.add(new Word("act", "bertindak", "verb"));
-        words.add(new Word("action", "tindakan", "noun"));
-        words.add(new Word("active", "aktif", "adjective"));
-        words.add(new Word("activity", "aktivitas", "noun"));
-        words.add(new Word("actor", "aktor", "noun"));
-        words.add(new Word("add", "menambahkan", "verb"));
-        words.add(new Word("address", "alamat", "noun"));
-        words.add(new Word("adult", "dewasa", "noun"));
-        words.add(new Word("advice", "nasihat", "noun"));
-        words.add(new Word("affect", "memengaruhi", "verb"));
-        words.add(new Word("afraid", "takut", "adjective"));
-        words.add(new Word("after", "setelah", "preposition"));
-        words.add(new Word("afternoon", "sore", "noun"));
-        words.add(new Word("again", "lagi", "adverb"));
-        words.add(new Word("against", "melawan", "preposition"));
-        words.add(new Word("age", "usia", "noun"));
-        words.add(new Word("ago", "yang lalu", "adverb"));
-        words.add(new Word("agree", "setuju", "verb"));
-        words.add(new Word("air", "udara", "noun"));
-        words.add(new Word("all", "semua", "adjective"));
-        words.add(new Word("allow", "mengizinkan", "verb"));
-        words.add(new Word("almost", "hampir", "adverb"));
-        words.add(new Word("alone", "sendirian", "adjective"));
-        words.add(new Word("along", "sepanjang", "preposition"));
-        words.add(new Word("already", "sudah", "adverb"));
-        words.add(new Word("also", "juga", "adverb"));
-        words.add(new Word("although", "meskipun", "conjunction"));
-        words.add(new Word("always", "selalu", "adverb"));
-        words.add(new Word("among", "di antara", "preposition"));
-        words.add(new Word("amount", "jumlah", "noun"));
-        words.add(new Word("and", "dan", "conjunction"));
-        words.add(new Word("animal", "hewan", "noun"));
-        words.add(new Word("another", "yang lain", "adjective"));
-        words.add(new Word("answer", "jawaban", "noun"));
-        words.add(new Word("any", "apa pun", "adjective"));
-        words.add(new Word("anyone", "siapa pun", "pronoun"));
-        words.add(new Word("anything", "apa pun", "pronoun"));
-        words.add(new Word("appear", "muncul", "verb"));
-        words.add(new Word("apple", "apel", "noun"));
-        words.add(new Word("area", "area", "noun"));
-        words.add(new Word("argue", "berdebat", "verb"));
-        words.add(new Word("arm", "lengan", "noun"));
-        words.add(new Word("around", "sekitar", "preposition"));
-        words.add(new Word("arrive", "tiba", "verb"));
-        words.add(new Word("art", "seni", "noun"));
-        words.add(new Word("article", "artikel", "noun"));
-        words.add(new Word("artist", "seniman", "noun"));
-        words.add(new Word("as", "sebagai", "preposition"));
-        words.add(new Word("ask", "bertanya", "verb"));
-        words.add(new Word("at", "di", "preposition"));
-        words.add(new Word("attack", "serangan", "noun"));
-        words.add(new Word("attention", "perhatian", "noun"));
-        words.add(new Word("attitude", "sikap", "noun"));
-        words.add(new Word("audience", "penonton", "noun"));
-        words.add(new Word("author", "penulis", "noun"));
-        words.add(new Word("available", "tersedia", "adjective"));
-        words.add(new Word("avoid", "menghindari", "verb"));
-        words.add(new Word("away", "jauh", "adverb"));
-        words.add(new Word("baby", "bayi", "noun"));
-        words.add(new Word("back", "kembali", "adverb"));
-        words.add(new Word("bad", "buruk", "adjective"));
-        words.add(new Word("bag", "tas", "noun"));
-        words.add(new Word("ball", "bola", "noun"));
-        words.add(new Word("bank", "bank", "noun"));
-        words.add(new Word("bar", "bar", "noun"));
-        words.add(new Word("base", "dasar", "noun"));
-        words.add(new Word("be", "ada", "verb"));
-        words.add(new Word("beautiful", "cantik", "adjective"));
-        words.add(new Word("because", "karena", "conjunction"));
-        words.add(new Word("become", "menjadi", "verb"));
-        words.add(new Word("bed", "tempat tidur", "noun"));
-        words.add(new Word("been", "telah", "verb"));
-        words.add(new Word("before", "sebelum", "preposition"));
-        words.add(new Word("begin", "mulai", "verb"));
-        words.add(new Word("behavior", "perilaku", "noun"));
-        words.add(new Word("behind", "di belakang", "preposition"));
-        words.add(new Word("believe", "percaya", "verb"));
-        words.add(new Word("benefit", "manfaat", "noun"));
-        words.add(new Word("best", "terbaik", "adjective"));
-        words.add(new Word("better", "lebih baik", "adjective"));
-        words.add(new Word("between", "antara", "preposition"));
-        words.add(new Word("big", "besar", "adjective"));
-        words.add(new Word("bill", "tagihan", "noun"));
-        words.add(new Word("billion", "miliar", "number"));
-        words.add(new Word("bird", "burung", "noun"));
-        words.add(new Word("birth", "kelahiran", "noun"));
-        words.add(new Word("bit", "sedikit", "noun"));
-        words.add(new Word("black", "hitam", "adjective"));
-        words.add(new Word("blood", "darah", "noun"));
-        words.add(new Word("blue", "biru", "adjective"));
-        words.add(new Word("board", "papan", "noun"));
-        words.add(new Word("body", "tubuh", "noun"));
-        words.add(new Word("book", "buku", "noun"));
-        words.add(new Word("born", "lahir", "verb"));
-        words.add(new Word("both", "keduanya", "adjective"));
-        words.add(new Word("box", "kotak", "noun"));
-        words.add(new Word("boy", "anak laki", "noun"));
-        words.add(new Word("break", "istirahat", "noun"));
-        words.add(new Word("bring", "membawa", "verb"));
-        words.add(new Word("brother", "saudara laki", "noun"));
-        words.add(new Word("brown", "coklat", "adjective"));
-        words.add(new Word("build", "membangun", "verb"));
-        words.add(new Word("business", "bisnis", "noun"));
-        words.add(new Word("but", "tapi", "conjunction"));
-        words.add(new Word("buy", "membeli", "verb"));
-        words.add(new Word("by", "oleh", "preposition"));
-        words.add(new Word("call", "memanggil", "verb"));
-        words.add(new Word("camera", "kamera", "noun"));
-        words.add(new Word("campaign", "kampanye", "noun"));
-        words.add(new Word("can", "bisa", "verb"));
-        words.add(new Word("cancer", "kanker", "noun"));
-        words.add(new Word("candidate", "kandidat", "noun"));
-        words.add(new Word("capital", "modal", "noun"));
-        words.add(new Word("car", "mobil", "noun"));
-        words.add(new Word("card", "kartu", "noun"));
-        words.add(new Word("care", "peduli", "verb"));
-        words.add(new Word("career", "karir", "noun"));
-        words.add(new Word("carry", "membawa", "verb"));
-        words.add(new Word("case", "kasus", "noun"));
-        words.add(new Word("cat", "kucing", "noun"));
-        words.add(new Word("catch", "menangkap", "verb"));
-        words.add(new Word("cause", "penyebab", "noun"));
-        words.add(new Word("cell", "sel", "noun"));
-        words.add(new Word("center", "pusat", "noun"));
-        words.add(new Word("central", "pusat", "adjective"));
-        words.add(new Word("century", "abad", "noun"));
-        words.add(new Word("certain", "tertentu", "adjective"));
-        words.add(new Word("certainly", "tentu saja", "adverb"));
-        words.add(new Word("chair", "kursi", "noun"));
-        words.add(new Word("challenge", "tantangan", "noun"));
-        words.add(new Word("chance", "kesempatan", "noun"));
-        words.add(new Word("change", "perubahan", "noun"));
-        words.add(new Word("character", "karakter", "noun"));
-        words.add(new Word("charge", "mengisi", "verb"));
-        words.add(new Word("check", "memeriksa", "verb"));
-        words.add(new Word("child", "anak", "noun"));
-        words.add(new Word("choice", "pilihan", "noun"));
-        words.add(new Word("choose", "memilih", "verb"));
-        words.add(new Word("church", "gereja", "noun"));
-        words.add(new Word("city", "kota", "noun"));
-        words.add(new Word("civil", "sipil", "adjective"));
-        words.add(new Word("claim", "klaim", "verb"));
-        words.add(new Word("class", "kelas", "noun"));
-        words.add(new Word("clear", "jelas", "adjective"));
-        words.add(new Word("clearly", "dengan jelas", "adverb"));
-        words.add(new Word("close", "menutup", "verb"));
-        words.add(new Word("coach", "pelatih", "noun"));
-        words.add(new Word("cold", "dingin", "adjective"));
-        words.add(new Word("collection", "koleksi", "noun"));
-        words.add(new Word("college", "perguruan tinggi", "noun"));
-        words.add(new Word("color", "warna", "noun"));
-        words.add(new Word("come", "datang", "verb"));
-        words.add(new Word("commercial", "komersial", "adjective"));
-        words.add(new Word("common", "umum", "adjective"));
-        words.add(new Word("community", "komunitas", "noun"));
-        words.add(new Word("company", "perusahaan", "noun"));
-        words.add(new Word("compare", "membandingkan", "verb"));
-        words.add(new Word("computer", "komputer", "noun"));
-        words.add(new Word("concern", "keprihatinan", "noun"));
-        words.add(new Word("condition", "kondisi", "noun"));
-        words.add(new Word("conference", "konferensi", "noun"));
-        words.add(new Word("Congress", "Kongres", "noun"));
-        words.add(new Word("consider", "mempertimbangkan", "verb"));
-        words.add(new Word("consumer", "konsumen", "noun"));
-        words.add(new Word("contain", "mengandung", "verb"));
-        words.add(new Word("continue", "melanjutkan", "verb"));
-        words.add(new Word("control", "kontrol", "noun"));
-        words.add(new Word("cost", "biaya", "noun"));
-        words.add(new Word("could", "bisa", "verb"));
-        words.add(new Word("country", "negara", "noun"));
-        words.add(new Word("couple", "pasangan", "noun"));
-        words.add(new Word("course", "kursus", "noun"));
-        words.add(new Word("court", "pengadilan", "noun"));
-        words.add(new Word("cover", "menutupi", "verb"));
-        words.add(new Word("create", "membuat", "verb"));
-        words.add(new Word("crime", "kejahatan", "noun"));
-        words.add(new Word("cultural", "budaya", "adjective"));
-        words.add(new Word("culture", "budaya", "noun"));
-        words.add(new Word("cup", "cangkir", "noun"));
-        words.add(new Word("current", "saat ini", "adjective"));
-        words.add(new Word("customer", "pelanggan", "noun"));
-        words.add(new Word("cut", "memotong", "verb"));
-        words.add(new Word("dark", "gelap", "adjective"));
-        words.add(new Word("data", "data", "noun"));
-        words.add(new Word("daughter", "anak perempuan", "noun"));
-        words.add(new Word("day", "hari", "noun"));
-        words.add(new Word("dead", "mati", "adjective"));
-        words.add(new Word("deal", "kesepakatan", "noun"));
-        words.add(new Word("death", "kematian", "noun"));
-        words.add(new Word("debate", "debat", "noun"));
-        words.add(new Word("decade", "dekade", "noun"));
-        words.add(new Word("decide", "memutuskan", "verb"));
-        words.add(new Word("decision", "keputusan", "noun"));
-        words.add(new Word("deep", "dalam", "adjective"));
-        words.add(new Word("defense", "pertahanan", "noun"));
-        words.add(new Word("degree", "derajat", "noun"));
-        words.add(new Word("Democrat", "Demokrat", "noun"));
-        words.add(new Word("democratic", "demokratis", "adjective"));
-        words.add(new Word("describe", "menggambarkan", "verb"));
-        words.add(new Word("design", "desain", "noun"));
-        words.add(new Word("despite", "meskipun", "preposition"));
-        words.add(new Word("detail", "detail", "noun"));
-        words.add(new Word("determine", "menentukan", "verb"));
-        words.add(new Word("develop", "mengembangkan", "verb"));
-        words.add(new Word("development", "pengembangan", "noun"));
-        words.add(new Word("die", "meninggal", "verb"));
-        words.add(new Word("difference", "perbedaan", "noun"));
-        words.add(new Word("different", "berbeda", "adjective"));
-        words.add(new Word("difficult", "sulit", "adjective"));
-        words.add(new Word("dinner", "makan malam", "noun"));
-        words.add(new Word("direction", "arah", "noun"));
-        words.add(new Word("director", "direktur", "noun"));
-        words.add(new Word("discover", "menemukan", "verb"));
-        words.add(new Word("discuss", "mendiskusikan", "verb"));
-        words.add(new Word("discussion", "diskusi", "noun"));
-        words.add(new Word("disease", "penyakit", "noun"));
-        words.add(new Word("do", "melakukan", "verb"));
-        words.add(new Word("doctor", "dokter", "noun"));
-        words.add(new Word("dog", "anjing", "noun"));
-        words.add(new Word("door", "pintu", "noun"));
-        words.add(new Word("down", "turun", "adverb"));
-        words.add(new Word("draw", "menggambar", "verb"));
-        words.add(new Word("dream", "mimpi", "noun"));
-        words.add(new Word("drive", "mengemudi", "verb"));
-        words.add(new Word("drop", "menjatuhkan", "verb"));
-        words.add(new Word("drug", "obat", "noun"));
-        words.add(new Word("during", "selama", "preposition"));
-        words.add(new Word("each", "masing", "adjective"));
-        words.add(new Word("early", "awal", "adjective"));
-        words.add(new Word("east", "timur", "noun"));
-        words.add(new Word("easy", "mudah", "adjective"));
-        words.add(new Word("eat", "makan", "verb"));
-        words.add(new Word("economic", "ekonomi", "adjective"));
-        words.add(new Word("economy", "ekonomi", "noun"));
-        words.add(new Word("edge", "tepi", "noun"));
-        words.add(new Word("education", "pendidikan", "noun"));
-        words.add(new Word("effect", "efek", "noun"));
-        words.add(new Word("effort", "usaha", "noun"));
-        words.add(new Word("eight", "delapan", "number"));
-        words.add(new Word("either", "salah", "adjective"));
-        words.add(new Word("election", "pemilihan", "noun"));
-        words.add(new Word("else", "lain", "adverb"));
-        words.add(new Word("employee", "karyawan", "noun"));
-        words.add(new Word("end", "akhir", "noun"));
-        words.add(new Word("energy", "energi", "noun"));
-        words.add(new Word("enjoy", "menikmati", "verb"));
-        words.add(new Word("enough", "cukup", "adjective"));
-        words.add(new Word("enter", "masuk", "verb"));
-        words.add(new Word("entire", "seluruh", "adjective"));
-        words.add(new Word("environment", "lingkungan", "noun"));
-        words.add(new Word("environmental", "lingkungan", "adjective"));
-        words.add(new Word("especially", "terutama", "adverb"));
-        words.add(new Word("establish", "membangun", "verb"));
-        words.add(new Word("even", "bahkan", "adverb"));
-        words.add(new Word("evening", "malam", "noun"));
-        words.add(new Word("event", "acara", "noun"));
-        words.add(new Word("ever", "pernah", "adverb"));
-        words.add(new Word("every", "setiap", "adjective"));
-        words.add(new Word("everybody", "semua orang", "pronoun"));
-        words.add(new Word("everyone", "setiap orang", "pronoun"));
-        words.add(new Word("everything", "segala sesuatu", "pronoun"));
-        words.add(new Word("evidence", "bukti", "noun"));
-        words.add(new Word("exactly", "persis", "adverb"));
-        words.add(new Word("example", "contoh", "noun"));
-        words.add(new Word("executive", "eksekutif", "adjective"));
-        words.add(new Word("expect", "mengharapkan", "verb"));
-        words.add(new Word("experience", "pengalaman", "noun"));
-        words.add(new Word("expert", "ahli", "noun"));
-        words.add(new Word("explain", "menjelaskan", "verb"));
-        words.add(new Word("eye", "mata", "noun"));
-        words.add(new Word("face", "wajah", "noun"));
-        words.add(new Word("fact", "fakta", "noun"));
-        words.add(new Word("factor", "faktor", "noun"));
-        words.add(new Word("fail", "gagal", "verb"));
-        words.add(new Word("fall", "jatuh", "verb"));
-        words.add(new Word("family", "keluarga", "noun"));
-        words.add(new Word("far", "jauh", "adjective"));
-        words.add(new Word("father", "ayah", "noun"));
-        words.add(new Word("fear", "takut", "noun"));
-        words.add(new Word("federal", "federal", "adjective"));
-        words.add(new Word("feel", "merasa", "verb"));
-        words.add(new Word("feeling", "perasaan", "noun"));
-        words.add(new Word("few", "beberapa", "adjective"));
-        words.add(new Word("field", "lapangan", "noun"));
-        words.add(new Word("fight", "berkelahi", "verb"));
-        words.add(new Word("figure", "angka", "noun"));
-        words.add(new Word("fill", "mengisi", "verb"));
-        words.add(new Word("film", "film", "noun"));
-        words.add(new Word("final", "akhir", "adjective"));
-        words.add(new Word("finally", "akhirnya", "adverb"));
-        words.add(new Word("financial", "keuangan", "adjective"));
-        words.add(new Word("find", "menemukan", "verb"));
-        words.add(new Word("fine", "baik", "adjective"));
-        words.add(new Word("finger", "jari", "noun"));
-        words.add(new Word("finish", "menyelesaikan", "verb"));
-        words.add(new Word("fire", "api", "noun"));
-        words.add(new Word("firm", "perusahaan", "noun"));
-        words.add(new Word("first", "pertama", "adjective"));
-        words.add(new Word("fish", "ikan", "noun"));
-        words.add(new Word("five", "lima", "number"));
-        words.add(new Word("floor", "lantai", "noun"));
-        words.add(new Word("fly", "terbang", "verb"));
-        words.add(new Word("focus", "fokus", "verb"));
-        words.add(new Word("follow", "mengikuti", "verb"));
-        words.add(new Word("food", "makanan", "noun"));
-        words.add(new Word("foot", "kaki", "noun"));
-        words.add(new Word("for", "untuk", "preposition"));
-        words.add(new Word("force", "kekuatan", "noun"));
-        words.add(new Word("foreign", "asing", "adjective"));
-        words.add(new Word("forget", "lupa", "verb"));
-        words.add(new Word("form", "formulir", "noun"));
-        words.add(new Word("former", "mantan", "adjective"));
-        words.add(new Word("forward", "maju", "adverb"));
-        words.add(new Word("four", "empat", "number"));
-        words.add(new Word("free", "bebas", "adjective"));
-        words.add(new Word("friend", "teman", "noun"));
-        words.add(new Word("from", "dari", "preposition"));
-        words.add(new Word("front", "depan", "noun"));
-        words.add(new Word("full", "penuh", "adjective"));
-        words.add(new Word("fund", "dana", "noun"));
-        words.add(new Word("future", "masa depan", "noun"));
-        words.add(new Word("game", "permainan", "noun"));
-        words.add(new Word("garden", "taman", "noun"));
-        words.add(new Word("gas", "gas", "noun"));
-        words.add(new Word("general", "umum", "adjective"));
-        words.add(new Word("get", "mendapatkan", "verb"));
-        words.add(new Word("girl", "anak perempuan", "noun"));
-        words.add(new Word("give", "memberi", "verb"));
-        words.add(new Word("glass", "kaca", "noun"));
-        words.add(new Word("go", "pergi", "verb"));
-        words.add(new Word("goal", "tujuan", "noun"));
-        words.add(new Word("good", "baik", "adjective"));
-        words.add(new Word("government", "pemerintah", "noun"));
-        words.add(new Word("great", "hebat", "adjective"));
-        words.add(new Word("green", "hijau", "adjective"));
-        words.add(new Word("ground", "tanah", "noun"));
-        words.add(new Word("group", "kelompok", "noun"));
-        words.add(new Word("grow", "tumbuh", "verb"));
-        words.add(new Word("growth", "pertumbuhan", "noun"));
-        words.add(new Word("guess", "menebak", "verb"));
-        words.add(new Word("gun", "senjata", "noun"));
-        words.add(new Word("guy", "pria", "noun"));
-        words.add(new Word("hair", "rambut", "noun"));
-        words.add(new Word("half", "setengah", "noun"));
-        words.add(new Word("hand", "tangan", "noun"));
-        words.add(new Word("hang", "menggantung", "verb"));
-        words.add(new Word("happen", "terjadi", "verb"));
-        words.add(new Word("happy", "bahagia", "adjective"));
-        words.add(new Word("hard", "keras", "adjective"));
-        words.add(new Word("have", "memiliki", "verb"));
-        words.add(new Word("he", "dia", "pronoun"));
-        words.add(new Word("head", "kepala", "noun"));
-        words.add(new Word("health", "kesehatan", "noun"));
-        words.add(new Word("hear", "mendengar", "verb"));
-        words.add(new Word("heart", "jantung", "noun"));
-        words.add(new Word("heat", "panas", "noun"));
-        words.add(new Word("heavy", "berat", "adjective"));
-        words.add(new Word("help", "membantu", "verb"));
-        words.add(new Word("her", "nya", "pronoun"));
-        words.add(new Word("here", "di sini", "adverb"));
-        words.add(new Word("herself", "dirinya sendiri", "pronoun"));
-        words.add(new Word("high", "tinggi", "adjective"));
-        words.add(new Word("him", "dia", "pronoun"));
-        words.add(new Word("himself", "dirinya sendiri", "pronoun"));
-        words.add(new Word("his", "nya", "pronoun"));
-        words.add(new Word("history", "sejarah", "noun"));
-        words.add(new Word("hit", "memukul", "verb"));
-        words.add(new Word("hold", "memegang", "verb"));
-        words.add(new Word("home", "rumah", "noun"));
-        words.add(new Word("hope", "harapan", "noun"));
-        words.add(new Word("hospital", "rumah sakit", "noun"));
-        words.add(new Word("hot", "panas", "adjective"));
-        words.add(new Word("hotel", "hotel", "noun"));
-        words.add(new Word("hour", "jam", "noun"));
-        words.add(new Word("house", "rumah", "noun"));
-        words.add(new Word("how", "bagaimana", "adverb"));
-        words.add(new Word("however", "namun", "adverb"));
-        words.add(new Word("huge", "besar", "adjective"));
-        words.add(new Word("human", "manusia", "noun"));
-        words.add(new Word("hundred", "ratus", "number"));
-        words.add(new Word("husband", "suami", "noun"));
-        words.add(new Word("I", "saya", "pronoun"));
-        words.add(new Word("idea", "ide", "noun"));
-        words.add(new Word("identify", "mengidentifikasi", "verb"));
-        words.add(new Word("if", "jika", "conjunction"));
-        words.add(new Word("image", "gambar", "noun"));
-        words.add(new Word("imagine", "membayangkan", "verb"));
-        words.add(new Word("impact", "dampak", "noun"));
-        words.add(new Word("important", "penting", "adjective"));
-        words.add(new Word("improve", "meningkatkan", "verb"));
-        words.add(new Word("in", "di", "preposition"));
-        words.add(new Word("include", "termasuk", "verb"));
-        words.add(new Word("including", "termasuk", "preposition"));
-        words.add(new Word("increase", "meningkatkan", "verb"));
-        words.add(new Word("indeed", "memang", "adverb"));
-        words.add(new Word("indicate", "menunjukkan", "verb"));
-        words.add(new Word("individual", "individu", "noun"));
-        words.add(new Word("industry", "industri", "noun"));
-        words.add(new Word("information", "informasi", "noun"));
-        words.add(new Word("inside", "di dalam", "preposition"));
-        words.add(new Word("instead", "sebaliknya", "adverb"));
-        words.add(new Word("institution", "lembaga", "noun"));
-        words.add(new Word("interest", "bunga", "noun"));
-        words.add(new Word("interesting", "menarik", "adjective"));
-        words.add(new Word("international", "internasional", "adjective"));
-        words.add(new Word("interview", "wawancara", "noun"));
-        words.add(new Word("into", "ke dalam", "preposition"));
-        words.add(new Word("investment", "investasi", "noun"));
-        words.add(new Word("involve", "melibatkan", "verb"));
-        words.add(new Word("issue", "masalah", "noun"));
-        words.add(new Word("it", "itu", "pronoun"));
-        words.add(new Word("item", "item", "noun"));
-        words.add(new Word("its", "nya", "pronoun"));
-        words.add(new Word("itself", "dirinya sendiri", "pronoun"));
-        words.add(new Word("job", "pekerjaan", "noun"));
-        words.add(new Word("join", "bergabung", "verb"));
-        words.add(new Word("just", "hanya", "adverb"));
-        words.add(new Word("keep", "menjaga", "verb"));
-        words.add(new Word("key", "kunci", "noun"));
-        words.add(new Word("kid", "anak", "noun"));
-        words.add(new Word("kill", "membunuh", "verb"));
-        words.add(new Word("kind", "jenis", "noun"));
-        words.add(new Word("kitchen", "dapur", "noun"));
-        words.add(new Word("know", "tahu", "verb"));
-        words.add(new Word("knowledge", "pengetahuan", "noun"));
-        words.add(new Word("land", "tanah", "noun"));
-        words.add(new Word("language", "bahasa", "noun"));
-        words.add(new Word("large", "besar", "adjective"));
-        words.add(new Word("last", "terakhir", "adjective"));
-        words.add(new Word("late", "terlambat", "adjective"));
-        words.add(new Word("later", "nanti", "adverb"));
-        words.add(new Word("laugh", "tertawa", "verb"));
-        words.add(new Word("law", "hukum", "noun"));
-        words.add(new Word("lawyer", "pengacara", "noun"));
-        words.add(new Word("lay", "meletakkan", "verb"));
-        words.add(new Word("lead", "memimpin", "verb"));
-        words.add(new Word("leader", "pemimpin", "noun"));
-        words.add(new Word("learn", "belajar", "verb"));
-        words.add(new Word("least", "paling sedikit", "adjective"));
-        words.add(new Word("leave", "meninggalkan", "verb"));
-        words.add(new Word("left", "kiri", "adjective"));
-        words.add(new Word("leg", "kaki", "noun"));
-        words.add(new Word("legal", "hukum", "adjective"));
-        words.add(new Word("less", "kurang", "adjective"));
-        words.add(new Word("let", "membiarkan", "verb"));
-        words.add(new Word("letter", "surat", "noun"));
-        words.add(new Word("level", "tingkat", "noun"));
-        words.add(new Word("lie", "berbohong", "verb"));
-        words.add(new Word("life", "kehidupan", "noun"));
-        words.add(new Word("light", "cahaya", "noun"));
-        words.add(new Word("like", "suka", "verb"));
-        words.add(new Word("likely", "mungkin", "adjective"));
-        words.add(new Word("line", "garis", "noun"));
-        words.add(new Word("list", "daftar", "noun"));
-        words.add(new Word("listen", "mendengarkan", "verb"));
-        words.add(new Word("little", "kecil", "adjective"));
-        words.add(new Word("live", "hidup", "verb"));
-        words.add(new Word("local", "lokal", "adjective"));
-        words.add(new Word("long", "panjang", "adjective"));
-        words.add(new Word("look", "melihat", "verb"));
-        words.add(new Word("lose", "kehilangan", "verb"));
-        words.add(new Word("loss", "kerugian", "noun"));
-        words.add(new Word("lot", "banyak", "noun"));
-        words.add(new Word("love", "cinta", "noun"));
-        words.add(new Word("low", "rendah", "adjective"));
-        words.add(new Word("machine", "mesin", "noun"));
-        words.add(new Word("magazine", "majalah", "noun"));
-        words.add(new Word("main", "utama", "adjective"));
-        words.add(new Word("maintain", "memelihara", "verb"));
-        words.add(new Word("major", "utama", "adjective"));
-        words.add(new Word("majority", "mayoritas", "noun"));
-        words.add(new Word("make", "membuat", "verb"));
-        words.add(new Word("man", "pria", "noun"));
-        words.add(new Word("manage", "mengelola", "verb"));
-        words.add(new Word("management", "manajemen", "noun"));
-        words.add(new Word("manager", "manajer", "noun"));
-        words.add(new Word("many", "banyak", "adjective"));
-        words.add(new Word("market", "pasar", "noun"));
-        words.add(new Word("marriage", "pernikahan", "noun"));
-        words.add(new Word("material", "bahan", "noun"));
-        words.add(new Word("matter", "masalah", "noun"));
-        words.add(new Word("may", "mungkin", "verb"));
-        words.add(new Word("maybe", "mungkin", "adverb"));
-        words.add(new Word("me", "saya", "pronoun"));
-        words.add(new Word("mean", "berarti", "verb"));
-        words.add(new Word("measure", "mengukur", "verb"));
-        words.add(new Word("media", "media", "noun"));
-        words.add(new Word("medical", "medis", "adjective"));
-        words.add(new Word("meet", "bertemu", "verb"));
-        words.add(new Word("meeting", "rapat", "noun"));
-        words.add(new Word("member", "anggota", "noun"));
-        words.add(new Word("memory", "memori", "noun"));
-        words.add(new Word("mental", "mental", "adjective"));
-        words.add(new Word("message", "pesan", "noun"));
-        words.add(new Word("method", "metode", "noun"));
-        words.add(new Word("middle", "tengah", "adjective"));
-        words.add(new Word("might", "mungkin", "verb"));
-        words.add(new Word("military", "militer", "adjective"));
-        words.add(new Word("million", "juta", "number"));
-        words.add(new Word("mind", "pikiran", "noun"));
-        words.add(new Word("minute", "menit", "noun"));
-        words.add(new Word("miss", "rindu", "verb"));
-        words.add(new Word("model", "model", "noun"));
-        words.add(new Word("modern", "modern", "adjective"));
-        words.add(new Word("moment", "momen", "noun"));
-        words.add(new Word("money", "uang", "noun"));
-        words.add(new Word("month", "bulan", "noun"));
-        words.add(new Word("more", "lebih", "adjective"));
-        words.add(new Word("morning", "pagi", "noun"));
-        words.add(new Word("most", "paling", "adjective"));
-        words.add(new Word("mother", "ibu", "noun"));
-        words.add(new Word("move", "bergerak", "verb"));
-        words.add(new Word("movement", "gerakan", "noun"));
-        words.add(new Word("movie", "film", "noun"));
-        words.add(new Word("Mr", "Tuan", "noun"));
-        words.add(new Word("Mrs", "Nyonya", "noun"));
-        words.add(new Word("much", "banyak", "adjective"));
-        words.add(new Word("music", "musik", "noun"));
-        words.add(new Word("must", "harus", "verb"));
-        words.add(new Word("my", "saya", "pronoun"));
-        words.add(new Word("myself", "diri saya sendiri", "pronoun"));
-        words.add(new Word("name", "nama", "noun"));
-        words.add(new Word("nation", "bangsa", "noun"));
-        words.add(new Word("national", "nasional", "adjective"));
-        words.add(new Word("natural", "alami", "adjective"));
-        words.add(new Word("nature", "alam", "noun"));
-        words.add(new Word("near", "dekat", "adjective"));
-        words.add(new Word("nearly", "hampir", "adverb"));
-        words.add(new Word("necessary", "perlu", "adjective"));
-        words.add(new Word("need", "perlu", "verb"));
-        words.add(new Word("network", "jaringan", "noun"));
-        words.add(new Word("never", "tidak pernah", "adverb"));
-        words.add(new Word("new", "baru", "adjective"));
-        words.add(new Word("news", "berita", "noun"));
-        words.add(new Word("next", "berikutnya", "adjective"));
-        words.add(new Word("nice", "bagus", "adjective"));
-        words.add(new Word("night", "malam", "noun"));
-        words.add(new Word("no", "tidak", "adverb"));
-        words.add(new Word("none", "tidak ada", "pronoun"));
-        words.add(new Word("nor", "atau", "conjunction"));
-        words.add(new Word("north", "utara", "noun"));
-        words.add(new Word("not", "tidak", "adverb"));
-        words.add(new Word("note", "catatan", "noun"));
-        words.add(new Word("nothing", "tidak ada", "pronoun"));
-        words.add(new Word("notice", "pemberitahuan", "noun"));
-        words.add(new Word("now", "sekarang", "adverb"));
-        words.add(new Word("number", "nomor", "noun"));
-        words.add(new Word("occur", "terjadi", "verb"));
-        words.add(new Word("of", "dari", "preposition"));
-        words.add(new Word("off", "mati", "adverb"));
-        words.add(new Word("offer", "menawarkan", "verb"));
-        words.add(new Word("office", "kantor", "noun"));
-        words.add(new Word("officer", "petugas", "noun"));
-        words.add(new Word("official", "resmi", "adjective"));
-        words.add(new Word("often", "sering", "adverb"));
-        words.add(new Word("oh", "oh", "interjection"));
-        words.add(new Word("oil", "minyak", "noun"));
-        words.add(new Word("ok", "oke", "adjective"));
-        words.add(new Word("old", "tua", "adjective"));
-        words.add(new Word("on", "pada", "preposition"));
-        words.add(new Word("once", "sekali", "adverb"));
-        words.add(new Word("one", "satu", "number"));
-        words.add(new Word("only", "hanya", "adverb"));
-        words.add(new Word("onto", "ke", "preposition"));
-        words.add(new Word("open", "buka", "verb"));
-        words.add(new Word("operation", "operasi", "noun"));
-        words.add(new Word("opportunity", "kesempatan", "noun"));
-        words.add(new Word("option", "opsi", "noun"));
-        words.add(new Word("or", "atau", "conjunction"));
-        words.add(new Word("order", "memesan", "verb"));
-        words.add(new Word("organization", "organisasi", "noun"));
-        words.add(new Word("other", "lain", "adjective"));
-        words.add(new Word("others", "yang lain", "pronoun"));
-        words.add(new Word("our", "kami", "pronoun"));
-        words.add(new Word("out", "keluar", "adverb"));
-        words.add(new Word("outside", "luar", "preposition"));
-        words.add(new Word("over", "lebih", "preposition"));
-        words.add(new Word("own", "sendiri", "adjective"));
-        words.add(new Word("owner", "pemilik", "noun"));
-        words.add(new Word("page", "halaman", "noun"));
-        words.add(new Word("pain", "sakit", "noun"));
-        words.add(new Word("painting", "lukisan", "noun"));
-        words.add(new Word("paper", "kertas", "noun"));
-        words.add(new Word("parent", "orang tua", "noun"));
-        words.add(new Word("part", "bagian", "noun"));
-        words.add(new Word("participant", "peserta", "noun"));
-        words.add(new Word("particular", "tertentu", "adjective"));
-        words.add(new Word("particularly", "khususnya", "adverb"));
-        words.add(new Word("partner", "mitra", "noun"));
-        words.add(new Word("party", "pesta", "noun"));
-        words.add(new Word("pass", "lulus", "verb"));
-        words.add(new Word("past", "masa lalu", "noun"));
-        words.add(new Word("patient", "sabar", "adjective"));
-        words.add(new Word("pattern", "pola", "noun"));
-        words.add(new Word("pay", "membayar", "verb"));
-        words.add(new Word("peace", "perdamaian", "noun"));
-        words.add(new Word("people", "orang", "noun"));
-        words.add(new Word("per", "per", "preposition"));
-        words.add(new Word("perform", "tampil", "verb"));
-        words.add(new Word("performance", "kinerja", "noun"));
-        words.add(new Word("perhaps", "mungkin", "adverb"));
-        words.add(new Word("period", "periode", "noun"));
-        words.add(new Word("person", "orang", "noun"));
-        words.add(new Word("personal", "pribadi", "adjective"));
-        words.add(new Word("phone", "telepon", "noun"));
-        words.add(new Word("physical", "fisik", "adjective"));
-        words.add(new Word("pick", "memilih", "verb"));
-        words.add(new Word("picture", "gambar", "noun"));
-        words.add(new Word("piece", "potongan", "noun"));
-        words.add(new Word("place", "tempat", "noun"));
-        words.add(new Word("plan", "rencana", "noun"));
-        words.add(new Word("plant", "tanaman", "noun"));
-        words.add(new Word("play", "bermain", "verb"));
-        words.add(new Word("player", "pemain", "noun"));
-        words.add(new Word("PM", "PM", "noun"));
-        words.add(new Word("point", "titik", "noun"));
-        words.add(new Word("police", "polisi", "noun"));
-        words.add(new Word("policy", "kebijakan", "noun"));
-        words.add(new Word("political", "politik", "adjective"));
-        words.add(new Word("politics", "politik", "noun"));
-        words.add(new Word("poor", "miskin", "adjective"));
-        words.add(new Word("popular", "populer", "adjective"));
-        words.add(new Word("population", "populasi", "noun"));
-        words.add(new Word("position", "posisi", "noun"));
-        words.add(new Word("positive", "positif", "adjective"));
-        words.add(new Word("possible", "mungkin", "adjective"));
-        words.add(new Word("power", "kekuatan", "noun"));
-        words.add(new Word("practice", "latihan", "noun"));
-        words.add(new Word("prepare", "mempersiapkan", "verb"));
-        words.add(new Word("present", "hadiah", "noun"));
-        words.add(new Word("president", "presiden", "noun"));
-        words.add(new Word("pressure", "tekanan", "noun"));
-        words.add(new Word("pretty", "cantik", "adjective"));
-        words.add(new Word("prevent", "mencegah", "verb"));
-        words.add(new Word("price", "harga", "noun"));
-        words.add(new Word("private", "pribadi", "adjective"));
-        words.add(new Word("probably", "mungkin", "adverb"));
-        words.add(new Word("problem", "masalah", "noun"));
-        words.add(new Word("process", "proses", "noun"));
-        words.add(new Word("produce", "menghasilkan", "verb"));
-        words.add(new Word("product", "produk", "noun"));
-        words.add(new Word("production", "produksi", "noun"));
-        words.add(new Word("professional", "profesional", "adjective"));
-        words.add(new Word("professor", "profesor", "noun"));
-        words.add(new Word("program", "program", "noun"));
-        words.add(new Word("project", "proyek", "noun"));
-        words.add(new Word("property", "properti", "noun"));
-        words.add(new Word("protect", "melindungi", "verb"));
-        words.add(new Word("prove", "membuktikan", "verb"));
-        words.add(new Word("provide", "menyediakan", "verb"));
-        words.add(new Word("public", "publik", "adjective"));
-        words.add(new Word("pull", "menarik", "verb"));
-        words.add(new Word("purpose", "tujuan", "noun"));
-        words.add(new Word("push", "mendorong", "verb"));
-        words.add(new Word("put", "meletakkan", "verb"));
-        words.add(new Word("quality", "kualitas", "noun"));
-        words.add(new Word("question", "pertanyaan", "noun"));
-        words.add(new Word("quickly", "dengan cepat", "adverb"));
-        words.add(new Word("quite", "cukup", "adverb"));
-        words.add(new Word("race", "ras", "noun"));
-        words.add(new Word("radio", "radio", "noun"));
-        words.add(new Word("raise", "mengangkat", "verb"));
-        words.add(new Word("range", "jangkauan", "noun"));
-        words.add(new Word("rate", "tingkat", "noun"));
-        words.add(new Word("rather", "agak", "adverb"));
-        words.add(new Word("reach", "mencapai", "verb"));
-        words.add(new Word("read", "membaca", "verb"));
-        words.add(new Word("ready", "siap", "adjective"));
-        words.add(new Word("real", "nyata", "adjective"));
-        words.add(new Word("realize", "menyadari", "verb"));
-        words.add(new Word("really", "benar", "adverb"));
-        words.add(new Word("reason", "alasan", "noun"));
-        words.add(new Word("receive", "menerima", "verb"));
-        words.add(new Word("recent", "terbaru", "adjective"));
-        words.add(new Word("recently", "baru", "adverb"));
-        words.add(new Word("recognize", "mengenali", "verb"));
-        words.add(new Word("record", "catatan", "noun"));
-        words.add(new Word("red", "merah", "adjective"));
-        words.add(new Word("reduce", "mengurangi", "verb"));
-        words.add(new Word("reflect", "merefleksikan", "verb"));
-        words.add(new Word("region", "wilayah", "noun"));
-        words.add(new Word("relate", "berhubungan", "verb"));
-        words.add(new Word("relationship", "hubungan", "noun"));
-        words.add(new Word("religious", "agama", "adjective"));
-        words.add(new Word("remain", "tetap", "verb"));
-        words.add(new Word("remember", "ingat", "verb"));
-        words.add(new Word("remove", "menghapus", "verb"));
-        words.add(new Word("report", "laporan", "noun"));
-        words.add(new Word("represent", "mewakili", "verb"));
-        words.add(new Word("Republican", "Republik", "noun"));
-        words.add(new Word("require", "memerlukan", "verb"));
-        words.add(new Word("research", "penelitian", "noun"));
-        words.add(new Word("resource", "sumber daya", "noun"));
-        words.add(new Word("respond", "menanggapi", "verb"));
-        words.add(new Word("response", "tanggapan", "noun"));
-        words.add(new Word("responsibility", "tanggung jawab", "noun"));
-        words.add(new Word("rest", "istirahat", "noun"));
-        words.add(new Word("result", "hasil", "noun"));
-        words.add(new Word("return", "kembali", "verb"));
-        words.add(new Word("reveal", "mengungkapkan", "verb"));
-        words.add(new Word("rich", "kaya", "adjective"));
-        words.add(new Word("right", "kanan", "adjective"));
-        words.add(new Word("rise", "naik", "verb"));
-        words.add(new Word("risk", "risiko", "noun"));
-        words.add(new Word("road", "jalan", "noun"));
-        words.add(new Word("rock", "batu", "noun"));
-        words.add(new Word("role", "peran", "noun"));
-        words.add(new Word("room", "ruangan", "noun"));
-        words.add(new Word("rule", "aturan", "noun"));
-        words.add(new Word("run", "berlari", "verb"));
-        words.add(new Word("safe", "aman", "adjective"));
-        words.add(new Word("same", "sama", "adjective"));
-        words.add(new Word("save", "menyimpan", "verb"));
-        words.add(new Word("say", "mengatakan", "verb"));
-        words.add(new Word("scene", "adegan", "noun"));
-        words.add(new Word("school", "sekolah", "noun"));
-        words.add(new Word("science", "ilmu", "noun"));
-        words.add(new Word("scientist", "ilmuwan", "noun"));
-        words.add(new Word("score", "skor", "noun"));
-        words.add(new Word("sea", "laut", "noun"));
-        words.add(new Word("season", "musim", "noun"));
-        words.add(new Word("seat", "kursi", "noun"));
-        words.add(new Word("second", "kedua", "adjective"));
-        words.add(new Word("section", "bagian", "noun"));
-        words.add(new Word("security", "keamanan", "noun"));
-        words.add(new Word("see", "melihat", "verb"));
-        words.add(new Word("seek", "mencari", "verb"));
-        words.add(new Word("seem", "tampak", "verb"));
-        words.add(new Word("sell", "menjual", "verb"));
-        words.add(new Word("send", "mengirim", "verb"));
-        words.add(new Word("senior", "senior", "adjective"));
-        words.add(new Word("sense", "rasa", "noun"));
-        words.add(new Word("series", "seri", "noun"));
-        words.add(new Word("serious", "serius", "adjective"));
-        words.add(new Word("serve", "melayani", "verb"));
-        words.add(new Word("service", "layanan", "noun"));
-        words.add(new Word("set", "set", "noun"));
-        words.add(new Word("seven", "tujuh", "number"));
-        words.add(new Word("several", "beberapa", "adjective"));
-        words.add(new Word("sex", "jenis kelamin", "noun"));
-        words.add(new Word("sexual", "seksual", "adjective"));
-        words.add(new Word("shake", "mengguncang", "verb"));
-        words.add(new Word("share", "berbagi", "verb"));
-        words.add(new Word("she", "dia", "pronoun"));
-        words.add(new Word("shoot", "menembak", "verb"));
-        words.add(new Word("short", "pendek", "adjective"));
-        words.add(new Word("shot", "tembakan", "noun"));
-        words.add(new Word("should", "seharusnya", "verb"));
-        words.add(new Word("shoulder", "bahu", "noun"));
-        words.add(new Word("show", "menunjukkan", "verb"));
-        words.add(new Word("side", "sisi", "noun"));
-        words.add(new Word("sign", "tanda", "noun"));
-        words.add(new Word("significant", "signifikan", "adjective"));
-        words.add(new Word("similar", "mirip", "adjective"));
-        words.add(new Word("simple", "sederhana", "adjective"));
-        words.add(new Word("simply", "hanya", "adverb"));
-        words.add(new Word("since", "sejak", "preposition"));
-        words.add(new Word("sing", "bernyanyi", "verb"));
-        words.add(new Word("single", "tunggal", "adjective"));
-        words.add(new Word("sister", "saudara perempuan", "noun"));
-        words.add(new Word("sit", "duduk", "verb"));
-        words.add(new Word("site", "situs", "noun"));
-        words.add(new Word("situation", "situasi", "noun"));
-        words.add(new Word("six", "enam", "number"));
-        words.add(new Word("size", "ukuran", "noun"));
-        words.add(new Word("skill", "keterampilan", "noun"));
-        words.add(new Word("skin", "kulit", "noun"));
-        words.add(new Word("small", "kecil", "adjective"));
-        words.add(new Word("smile", "senyum", "noun"));
-        words.add(new Word("so", "jadi", "conjunction"));
-        words.add(new Word("social", "sosial", "adjective"));
-        words.add(new Word("society", "masyarakat", "noun"));
-        words.add(new Word("soldier", "tentara", "noun"));
-        words.add(new Word("some", "beberapa", "adjective"));
-        words.add(new Word("somebody", "seseorang", "pronoun"));
-        words.add(new Word("someone", "seseorang", "pronoun"));
-        words.add(new Word("something", "sesuatu", "pronoun"));
-        words.add(new Word("sometimes", "kadang", "adverb"));
-        words.add(new Word("son", "anak laki", "noun"));
-        words.add(new Word("song", "lagu", "noun"));
-        words.add(new Word("soon", "segera", "adverb"));
-        words.add(new Word("sort", "jenis", "noun"));
-        words.add(new Word("sound", "suara", "noun"));
-        words.add(new Word("source", "sumber", "noun"));
-        words.add(new Word("south", "selatan", "noun"));
-        words.add(new Word("southern", "selatan", "adjective"));
-        words.add(new Word("space", "ruang", "noun"));
-        words.add(new Word("speak", "berbicara", "verb"));
-        words.add(new Word("special", "khusus", "adjective"));
-        words.add(new Word("specific", "spesifik", "adjective"));
-        words.add(new Word("speech", "pidato", "noun"));
-        words.add(new Word("spend", "menghabiskan", "verb"));
-        words.add(new Word("sport", "olahraga", "noun"));
-        words.add(new Word("spring", "musim semi", "noun"));
-        words.add(new Word("staff", "staf", "noun"));
-        words.add(new Word("stage", "panggung", "noun"));
-        words.add(new Word("stand", "berdiri", "verb"));
-        words.add(new Word("standard", "standar", "noun"));
-        words.add(new Word("star", "bintang", "noun"));
-        words.add(new Word("start", "mulai", "verb"));
-        words.add(new Word("state", "negara bagian", "noun"));
-        words.add(new Word("statement", "pernyataan", "noun"));
-        words.add(new Word("station", "stasiun", "noun"));
-        words.add(new Word("stay", "tinggal", "verb"));
-        words.add(new Word("step", "langkah", "noun"));
-        words.add(new Word("still", "masih", "adverb"));
-        words.add(new Word("stock", "saham", "noun"));
-        words.add(new Word("stop", "berhenti", "verb"));
-        words.add(new Word("store", "toko", "noun"));
-        words.add(new Word("story", "cerita", "noun"));
-        words.add(new Word("strategy", "strategi", "noun"));
-        words.add(new Word("street", "jalan", "noun"));
-        words.add(new Word("strong", "kuat", "adjective"));
-        words.add(new Word("structure", "struktur", "noun"));
-        words.add(new Word("student", "siswa", "noun"));
-        words.add(new Word("study", "belajar", "verb"));
-        words.add(new Word("stuff", "barang", "noun"));
-        words.add(new Word("style", "gaya", "noun"));
-        words.add(new Word("subject", "subjek", "noun"));
-        words.add(new Word("success", "kesuksesan", "noun"));
-        words.add(new Word("successful", "sukses", "adjective"));
-        words.add(new Word("such", "seperti", "adjective"));
-        words.add(new Word("suddenly", "tiba", "adverb"));
-        words.add(new Word("suffer", "menderita", "verb"));
-        words.add(new Word("suggest", "menyarankan", "verb"));
-        words.add(new Word("summer", "musim panas", "noun"));
-        words.add(new Word("support", "dukungan", "noun"));
-        words.add(new Word("sure", "yakin", "adjective"));
-        words.add(new Word("surface", "permukaan", "noun"));
-        words.add(new Word("system", "sistem", "noun"));
-        words.add(new Word("table", "meja", "noun"));
-        words.add(new Word("take", "mengambil", "verb"));
-        words.add(new Word("talk", "berbicara", "verb"));
-        words.add(new Word("task", "tugas", "noun"));
-        words.add(new Word("tax", "pajak", "noun"));
-        words.add(new Word("teach", "mengajar", "verb"));
-        words.add(new Word("teacher", "guru", "noun"));
-        words.add(new Word("team", "tim", "noun"));
-        words.add(new Word("technology", "teknologi", "noun"));
-        words.add(new Word("television", "televisi", "noun"));
-        words.add(new Word("tell", "memberitahu", "verb"));
-        words.add(new Word("ten", "sepuluh", "number"));
-        words.add(new Word("tend", "cenderung", "verb"));
-        words.add(new Word("term", "istilah", "noun"));
-        words.add(new Word("test", "tes", "noun"));
-        words.add(new Word("than", "daripada", "conjunction"));
-        words.add(new Word("thank", "terima kasih", "verb"));
-        words.add(new Word("that", "itu", "pronoun"));
-        words.add(new Word("the", "si", "article"));
-        words.add(new Word("their", "mereka", "pronoun"));
-        words.add(new Word("them", "mereka", "pronoun"));
-        words.add(new Word("themselves", "diri mereka sendiri", "pronoun"));
-        words.add(new Word("then", "kemudian", "adverb"));
-        words.add(new Word("theory", "teori", "noun"));
-        words.add(new Word("there", "di sana", "adverb"));
-        words.add(new Word("these", "ini", "pronoun"));
-        words.add(new Word("they", "mereka", "pronoun"));
-        words.add(new Word("thing", "benda", "noun"));
-        words.add(new Word("think", "berpikir", "verb"));
-        words.add(new Word("third", "ketiga", "adjective"));
-        words.add(new Word("this", "ini", "pronoun"));
-        words.add(new Word("those", "itu", "pronoun"));
-        words.add(new Word("though", "meskipun", "conjunction"));
-        words.add(new Word("thought", "pikiran", "noun"));
-        words.add(new Word("thousand", "ribu", "number"));
-        words.add(new Word("threat", "ancaman", "noun"));
-        words.add(new Word("three", "tiga", "number"));
-        words.add(new Word("through", "melalui", "preposition"));
-        words.add(new Word("throughout", "seluruh", "preposition"));
-        words.add(new Word("throw", "melempar", "verb"));
-        words.add(new Word("thus", "dengan demikian", "adverb"));
-        words.add(new Word("time", "waktu", "noun"));
-        words.add(new Word("to", "ke", "preposition"));
-        words.add(new Word("today", "hari ini", "noun"));
-        words.add(new Word("together", "bersama", "adverb"));
-        words.add(new Word("tonight", "malam ini", "noun"));
-        words.add(new Word("too", "terlalu", "adverb"));
-        words.add(new Word("top", "atas", "noun"));
-        words.add(new Word("total", "total", "adjective"));
-        words.add(new Word("tough", "tangguh", "adjective"));
-        words.add(new Word("toward", "menuju", "preposition"));
-        words.add(new Word("town", "kota", "noun"));
-        words.add(new Word("trade", "perdagangan", "noun"));
-        words.add(new Word("traditional", "tradisional", "adjective"));
-        words.add(new Word("training", "pelatihan", "noun"));
-        words.add(new Word("travel", "bepergian", "verb"));
-        words.add(new Word("treat", "memperlakukan", "verb"));
-        words.add(new Word("treatment", "perawatan", "noun"));
-        words.add(new Word("tree", "pohon", "noun"));
-        words.add(new Word("trial", "percobaan", "noun"));
-        words.add(new Word("trip", "perjalanan", "noun"));
-        words.add(new Word("trouble", "masalah", "noun"));
-        words.add(new Word("true", "benar", "adjective"));
-        words.add(new Word("truth", "kebenaran", "noun"));
-        words.add(new Word("try", "mencoba", "verb"));
-        words.add(new Word("turn", "berbelok", "verb"));
-        words.add(new Word("TV", "TV", "noun"));
-        words.add(new Word("two", "dua", "number"));
-        words.add(new Word("type", "tipe", "noun"));
-        words.add(new Word("under", "di bawah", "preposition"));
-        words.add(new Word("understand", "memahami", "verb"));
-        words.add(new Word("unit", "unit", "noun"));
-        words.add(new Word("until", "sampai", "preposition"));
-        words.add(new Word("up", "naik", "adverb"));
-        words.add(new Word("upon", "pada", "preposition"));
-        words.add(new Word("us", "kami", "pronoun"));
-        words.add(new Word("use", "menggunakan", "verb"));
-        words.add(new Word("usually", "biasanya", "adverb"));
-        words.add(new Word("value", "nilai", "noun"));
-        words.add(new Word("various", "berbagai", "adjective"));
-        words.add(new Word("very", "sangat", "adverb"));
-        words.add(new Word("victim", "korban", "noun"));
-        words.add(new Word("view", "pandangan", "noun"));
-        words.add(new Word("violence", "kekerasan", "noun"));
-        words.add(new Word("visit", "mengunjungi", "verb"));
-        words.add(new Word("voice", "suara", "noun"));
-        words.add(new Word("vote", "suara", "noun"));
-        words.add(new Word("wait", "menunggu", "verb"));
-        words.add(new Word("walk", "berjalan", "verb"));
-        words.add(new Word("wall", "dinding", "noun"));
-        words.add(new Word("want", "ingin", "verb"));
-        words.add(new Word("war", "perang", "noun"));
-        words.add(new Word("watch", "menonton", "verb"));
-        words.add(new Word("water", "air", "noun"));
-        words.add(new Word("way", "cara", "noun"));
-        words.add(new Word("we", "kami", "pronoun"));
-        words.add(new Word("weapon", "senjata", "noun"));
-        words.add(new Word("wear", "memakai", "verb"));
-        words.add(new Word("week", "minggu", "noun"));
-        words.add(new Word("weight", "berat", "noun"));
-        words.add(new Word("well", "baik", "adverb"));
-        words.add(new Word("west", "barat", "noun"));
-        words.add(new Word("western", "barat", "adjective"));
-        words.add(new Word("what", "apa", "pronoun"));
-        words.add(new Word("whatever", "apa pun", "pronoun"));
-        words.add(new Word("when", "ketika", "adverb"));
-        words.add(new Word("where", "di mana", "adverb"));
-        words.add(new Word("whether", "apakah", "conjunction"));
-        words.add(new Word("which", "yang", "pronoun"));
-        words.add(new Word("while", "sementara", "conjunction"));
-        words.add(new Word("white", "putih", "adjective"));
-        words.add(new Word("who", "siapa", "pronoun"));
-        words.add(new Word("whole", "seluruh", "adjective"));
-        words.add(new Word("whom", "siapa", "pronoun"));
-        words.add(new Word("whose", "yang", "pronoun"));
-        words.add(new Word("why", "mengapa", "adverb"));
-        words.add(new Word("wide", "lebar", "adjective"));
-        words.add(new Word("wife", "istri", "noun"));
-        words.add(new Word("will", "akan", "verb"));
-        words.add(new Word("win", "menang", "verb"));
-        words.add(new Word("wind", "angin", "noun"));
-        words.add(new Word("window", "jendela", "noun"));
-        words.add(new Word("wish", "harapan", "noun"));
-        words.add(new Word("with", "dengan", "preposition"));
-        words.add(new Word("within", "dalam", "preposition"));
-        words.add(new Word("without", "tanpa", "preposition"));
-        words.add(new Word("woman", "wanita", "noun"));
-        words.add(new Word("wonder", "heran", "verb"));
-        words.add(new Word("word", "kata", "noun"));
-        words.add(new Word("work", "bekerja", "verb"));
-        words.add(new Word("worker", "pekerja", "noun"));
-        words.add(new Word("world", "dunia", "noun"));
-        words.add(new Word("worry", "khawatir", "verb"));
-        words.add(new Word("would", "akan", "verb"));
-        words.add(new Word("write", "menulis", "verb"));
-        words.add(new Word("writer", "penulis", "noun"));
-        words.add(new Word("wrong", "salah", "adjective"));
-        words.add(new Word("yard", "halaman", "noun"));
-        words.add(new Word("yeah", "ya", "adverb"));
-        words.add(new Word("year", "tahun", "noun"));
-        words.add(new Word("yes", "ya", "adverb"));
-        words.add(new Word("yet", "namun", "adverb"));
-        words.add(new Word("you", "kamu", "pronoun"));
-        words.add(new Word("young", "muda", "adjective"));
-        words.add(new Word("your", "kamu", "pronoun"));
-        words.add(new Word("yourself", "dirimu sendiri", "pronoun"));
-        words.add(new Word("explosion", "ledakan", "noun", "", "", "explosion"));
-        words.add(new Word("blur", "buram", "adjective", "", "", "blur"));
-        words.add(new Word("matrix", "matriks", "noun", "", "", "matrix"));
-        words.add(new Word("rain", "hujan", "noun", "", "", "rain"));
-        words.add(new Word("old", "tua", "adjective", "", "", "old"));
-        words.add(new Word("mouse", "tikus", "noun", "", "", "mouse"));
-        words.add(new Word("calculator", "kalkulator", "noun", "", "", "calculator"));
-        words.add(new Word("game", "permainan", "noun", "", "", "game"));
-        words.add(new Word("bom", "bom", "noun", "", "", "explosion"));
-        words.add(new Word("ledakan", "explosion", "noun", "", "", "explosion"));
-        words.add(new Word("buram", "blurry", "adjective", "", "", "blur"));
-        words.add(new Word("matriks", "matrix", "noun", "", "", "matrix"));
-        words.add(new Word("hujan", "rain", "noun", "", "", "rain"));
-        words.add(new Word("tua", "old", "adjective", "", "", "old"));
-        words.add(new Word("tikus", "mouse", "noun", "", "", "mouse"));
-        words.add(new Word("kalkulator", "calculator", "noun", "", "", "calculator"));
-        words.add(new Word("permainan", "game", "noun", "", "", "game"));
-    }
-    
-    public List<Word> getRecommendations(String prefix) {
-        List<Word> recommendations = new ArrayList<>();
-        String lowerPrefix = prefix.toLowerCase();
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final int RECOMMENDATION_LIMIT = 5;
+    private static final int MIN_UNINDEXED_WORDS = 64;
+    private static final int MIN_OVERLAY_KEYS = 64;
+    
+    public interface ProgressListener {
+        void onProgress(String stage, int percent);
+    }
+    
+    public interface MutationListener {
+        void onWordAdded(Word word);
+        void onWordUpdated(Word existing, Word replacement);
+        void onWordRemoved(Word word);
+    }
+    
+    private static final class SubstringIndex {
+        final NGramIndex index;
+        final Word[] words;
+        final PersistentRedBlackTree unindexed;
+        final int pending;
+        final int stale;
         
-        for (Word word : words) {
-            if (word.getEnglish().toLowerCase().startsWith(lowerPrefix) ||
-                word.getIndonesian().toLowerCase().startsWith(lowerPrefix)) {
-                recommendations.add(word);
-                if (recommendations.size() >= 5) {
-                    break;
+        SubstringIndex(NGramIndex index, Word[] words, PersistentRedBlackTree unindexed, int pending, int stale) {
+            this.index = index;
+            this.words = words;
+            this.unindexed = unindexed;
+            this.pending = pending;
+            this.stale = stale;
+        }
+        
+        SubstringIndex withAdded(Word word) {
+            return new SubstringIndex(index, words, unindexed.insert(word.getEnglish(), word), pending + 1, stale);
+        }
+        
+        SubstringIndex withRemoved() {
+            return new SubstringIndex(index, words, unindexed, pending, stale + 1);
+        }
+        
+        boolean isOutdated() {
+            return pending + stale > Math.max(MIN_UNINDEXED_WORDS, words.length / 16);
+        }
+    }
+    
+    private final ShardedIndex englishIndex;
+    private final ShardedIndex indonesianIndex;
+    private final BloomFilter englishFilter;
+    private final BloomFilter indonesianFilter;
+    private final DefinitionStore definitions;
+    private final ReadWriteLock structureLock = new ReentrantReadWriteLock();
+    private final AtomicReference<SubstringIndex> substringIndex = new AtomicReference<>();
+    private volatile FrozenDictionary frozen;
+    private final List<MutationListener> mutationListeners = new CopyOnWriteArrayList<>();
+    
+    public Dictionary(String... extraFiles) {
+        this(null, extraFiles);
+    }
+    
+    public Dictionary(ProgressListener listener, String... extraFiles) {
+        this(sourceFiles(extraFiles), new LoadProgress(listener));
+    }
+    
+    private Dictionary(String[] files, LoadProgress progress) {
+        this(readWords(progress, files), progress);
+    }
+    
+    private Dictionary(Word[] table, LoadProgress progress) {
+        this(new FrozenDictionary(table, sortOrders(foldKeys(table, progress)), 0, null), progress);
+    }
+    
+    private Dictionary(FrozenDictionary frozen, LoadProgress progress) {
+        englishIndex = new ShardedIndex();
+        indonesianIndex = new ShardedIndex();
+        englishFilter = BloomFilter.of(frozen.english().sortedKeys(), FILTER_FALSE_POSITIVE_RATE);
+        progress.report(LoadProgress.INDEX, 1, 2);
+        indonesianFilter = BloomFilter.of(frozen.indonesian().sortedKeys(), FILTER_FALSE_POSITIVE_RATE);
+        progress.report(LoadProgress.INDEX, 2, 2);
+        definitions = DefinitionStore.openIfExists(Constants.DEFINITIONS_FILE);
+        rebase(frozen);
+        progress.finish();
+    }
+    
+    private Dictionary(Dictionary source) {
+        englishIndex = new ShardedIndex(source.englishIndex);
+        indonesianIndex = new ShardedIndex(source.indonesianIndex);
+        englishFilter = source.englishFilter.copy();
+        indonesianFilter = source.indonesianFilter.copy();
+        definitions = source.definitions;
+        frozen = source.frozen;
+    }
+    
+    public static Dictionary open(ProgressListener listener, String... extraFiles) {
+        long fingerprint = fingerprint(sourceFiles(extraFiles));
+        Dictionary dictionary = openIndexes(listener, fingerprint, extraFiles);
+        dictionary.frozen.perfectIndex();
+        return dictionary;
+    }
+    
+    public static Dictionary open(ProgressListener listener, DictionaryJournal journal, String... extraFiles) {
+        long fingerprint = fingerprint(sourceFiles(extraFiles));
+        Path snapshotPath = Paths.get(Constants.SNAPSHOT_FILE);
+        Dictionary dictionary = null;
+        long replayFrom = 0;
+        if (journal.getFoldedLength() > 0) {
+            long foldedFingerprint = journal.foldedFingerprint(fingerprint);
+            DictionarySnapshot folded = DictionarySnapshot.openIfValid(snapshotPath, foldedFingerprint);
+            if (folded != null) {
+                dictionary = load(folded, foldedFingerprint, new LoadProgress(listener));
+                if (dictionary != null) {
+                    dictionary.frozen.perfectIndex();
+                }
+                replayFrom = dictionary != null ? journal.getFoldedLength() : 0;
+            }
+        }
+        if (dictionary == null) {
+            dictionary = open(listener, extraFiles);
+        }
+        
+        try {
+            journal.replay(dictionary, replayFrom);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        dictionary.attach(journal, extraFiles);
+        return dictionary;
+    }
+    
+    private static Dictionary openIndexes(ProgressListener listener, long fingerprint, String... extraFiles) {
+        Path snapshotPath = Paths.get(Constants.SNAPSHOT_FILE);
+        LoadProgress progress = new LoadProgress(listener);
+        DictionarySnapshot snapshot = DictionarySnapshot.openIfValid(snapshotPath, fingerprint);
+        if (snapshot != null) {
+            Dictionary dictionary = load(snapshot, fingerprint, progress);
+            if (dictionary != null) {
+                return dictionary;
+            }
+        }
+        
+        boolean[] complete = { true };
+        Word[] table = readWords(progress, sourceFiles(extraFiles), complete);
+        int[][] orders = sortOrders(foldKeys(table, progress));
+        Dictionary dictionary = new Dictionary(new FrozenDictionary(table, orders, fingerprint, perfectPath()), progress);
+        if (complete[0] && Files.isDirectory(snapshotPath.toAbsolutePath().getParent())) {
+            try {
+                DictionarySnapshot.write(snapshotPath, fingerprint, table, orders[0], orders[1]);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return dictionary;
+    }
+    
+    private static Path perfectPath() {
+        return Paths.get(Constants.PERFECT_HASH_FILE);
+    }
+    
+    private static Dictionary load(DictionarySnapshot snapshot, long fingerprint, LoadProgress progress) {
+        try {
+            return new Dictionary(new FrozenDictionary(snapshot, fingerprint, perfectPath()), progress);
+        } catch (IllegalStateException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    void attach(DictionaryJournal journal, String... extraFiles) {
+        journal.attach(this, Paths.get(Constants.SNAPSHOT_FILE), fingerprint(sourceFiles(extraFiles)));
+    }
+    
+    static String[] sourceFiles(String... extraFiles) {
+        String[] files = new String[extraFiles.length + 1];
+        files[0] = Constants.DICTIONARY_FILE;
+        System.arraycopy(extraFiles, 0, files, 1, extraFiles.length);
+        return files;
+    }
+    
+    private static long fingerprint(String[] files) {
+        long hash = 1125899906842597L;
+        for (String file : files) {
+            hash = 31 * hash + file.hashCode();
+            try {
+                Path path = Paths.get(file);
+                if (Files.isRegularFile(path)) {
+                    hash = 31 * hash + Files.size(path);
+                    hash = 31 * hash + Files.getLastModifiedTime(path).toMillis();
+                }
+            } catch (IOException | InvalidPathException e) {
+                hash = 31 * hash - 1;
+            }
+        }
+        return hash;
+    }
+    
+    public Dictionary copy() {
+        Lock exclusive = structureLock.writeLock();
+        exclusive.lock();
+        try {
+            Dictionary copy = new Dictionary(this);
+            copy.substringIndex.set(substringIndex.get());
+            return copy;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+    
+    Lock exclusiveLock() {
+        return structureLock.writeLock();
+    }
+    
+    public void addWord(Word word) {
+        Lock shared = structureLock.readLock();
+        shared.lock();
+        try (ShardedIndex.Edit english = englishIndex.edit(word.getEnglish());
+             ShardedIndex.Edit indonesian = indonesianIndex.edit(word.getIndonesian())) {
+            englishFilter.add(word.getEnglish());
+            indonesianFilter.add(word.getIndonesian());
+            english.insert(word.getEnglish(), word);
+            indonesian.insert(word.getIndonesian(), word);
+            substringIndex.updateAndGet(index -> index != null ? index.withAdded(word) : null);
+            for (MutationListener listener : mutationListeners) {
+                listener.onWordAdded(word);
+            }
+        } finally {
+            shared.unlock();
+        }
+        refreezeIfOutdated();
+    }
+    
+    public boolean updateWord(Word existing, Word replacement) {
+        Lock shared = structureLock.readLock();
+        shared.lock();
+        try (ShardedIndex.Edit english = englishIndex.edit(existing.getEnglish(), replacement.getEnglish());
+             ShardedIndex.Edit indonesian = indonesianIndex.edit(existing.getIndonesian(),
+                                                                 replacement.getIndonesian())) {
+            Word current = resolve(english.searchAll(existing.getEnglish()), existing);
+            if (current == null) {
+                return false;
+            }
+            reindex(english, englishFilter, current.getEnglish(), replacement.getEnglish(), current, replacement);
+            reindex(indonesian, indonesianFilter, current.getIndonesian(), replacement.getIndonesian(),
+                    current, replacement);
+            substringIndex.updateAndGet(index -> index != null ? index.withRemoved().withAdded(replacement) : null);
+            for (MutationListener listener : mutationListeners) {
+                listener.onWordUpdated(current, replacement);
+            }
+        } finally {
+            shared.unlock();
+        }
+        refreezeIfOutdated();
+        return true;
+    }
+    
+    private static void reindex(ShardedIndex.Edit edit, BloomFilter filter, String oldKey, String newKey,
+                                Word existing, Word replacement) {
+        if (KeyNormalizer.compare(newKey, KeyNormalizer.fold(oldKey)) == 0) {
+            edit.replace(oldKey, existing, replacement);
+        } else {
+            filter.add(newKey);
+            edit.move(oldKey, existing, newKey, replacement);
+        }
+    }
+    
+    public boolean removeWord(Word word) {
+        Lock shared = structureLock.readLock();
+        shared.lock();
+        try (ShardedIndex.Edit english = englishIndex.edit(word.getEnglish());
+             ShardedIndex.Edit indonesian = indonesianIndex.edit(word.getIndonesian())) {
+            Word current = resolve(english.searchAll(word.getEnglish()), word);
+            if (current == null) {
+                return false;
+            }
+            english.remove(current.getEnglish(), current);
+            indonesian.remove(current.getIndonesian(), current);
+            substringIndex.updateAndGet(index -> index != null ? index.withRemoved() : null);
+            for (MutationListener listener : mutationListeners) {
+                listener.onWordRemoved(current);
+            }
+        } finally {
+            shared.unlock();
+        }
+        refreezeIfOutdated();
+        return true;
+    }
+    
+    private int editedKeys() {
+        return englishIndex.overlaySize() + indonesianIndex.overlaySize();
+    }
+    
+    private void refreezeIfOutdated() {
+        int threshold = Math.max(MIN_OVERLAY_KEYS, frozen.size() / 16);
+        if (editedKeys() > threshold) {
+            refreeze(threshold);
+        }
+    }
+    
+    private FrozenDictionary refrozen() {
+        if (editedKeys() > 0) {
+            refreeze(0);
+        }
+        return frozen;
+    }
+    
+    private void refreeze(int threshold) {
+        Lock exclusive = structureLock.writeLock();
+        exclusive.lock();
+        try {
+            if (editedKeys() > threshold) {
+                rebuild(englishIndex.getAllWordsInOrder().toArray(new Word[0]));
+            }
+        } finally {
+            exclusive.unlock();
+        }
+    }
+    
+    private void rebuild(Word[] table) {
+        rebase(new FrozenDictionary(table, null, 0, null));
+    }
+    
+    private void rebase(FrozenDictionary base) {
+        frozen = base;
+        englishIndex.rebase(base.english());
+        indonesianIndex.rebase(base.indonesian());
+    }
+    
+    public void addMutationListener(MutationListener listener) {
+        mutationListeners.add(listener);
+    }
+    
+    public void removeMutationListener(MutationListener listener) {
+        mutationListeners.remove(listener);
+    }
+    
+    Word resolve(Word template) {
+        return resolve(englishIndex.searchAll(template.getEnglish()), template);
+    }
+    
+    private static Word resolve(List<Word> candidates, Word template) {
+        for (Word candidate : candidates) {
+            if (candidate == template) {
+                return candidate;
+            }
+        }
+        for (Word candidate : candidates) {
+            if (candidate.sameAs(template)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
+    PersistentRedBlackTree view() {
+        return englishIndex.current();
+    }
+    
+    private static Word[] readWords(LoadProgress progress, String[] files) {
+        return readWords(progress, files, new boolean[1]);
+    }
+    
+    private static Word[] readWords(LoadProgress progress, String[] files, boolean[] complete) {
+        long totalChars = 0;
+        for (String file : files) {
+            totalChars += sizeOf(file);
+        }
+        
+        List<Word> words = new ArrayList<>();
+        long doneChars = 0;
+        for (String file : files) {
+            try (DictionaryReader reader = DictionaryReader.open(file)) {
+                Word word;
+                while ((word = reader.next()) != null) {
+                    words.add(word);
+                    progress.report(LoadProgress.PARSE, doneChars + reader.getCharsRead(), totalChars);
                 }
+                doneChars += reader.getCharsRead();
+            } catch (IOException e) {
+                complete[0] = false;
+                e.printStackTrace();
+            }
+        }
+        return words.toArray(new Word[0]);
+    }
+    
+    private static long sizeOf(String file) {
+        try {
+            Path path = Paths.get(file);
+            return Files.isRegularFile(path) ? Files.size(path) : 0;
+        } catch (IOException | InvalidPathException e) {
+            return 0;
+        }
+    }
+    
+    private static String[][] foldKeys(Word[] table, LoadProgress progress) {
+        int total = table.length;
+        String[] englishKeys = new String[total];
+        String[] indonesianKeys = new String[total];
+        for (int i = 0; i < total; i++) {
+            englishKeys[i] = KeyNormalizer.fold(table[i].getEnglish());
+            indonesianKeys[i] = KeyNormalizer.fold(table[i].getIndonesian());
+            progress.report(LoadProgress.NORMALIZE, i + 1, total);
+        }
+        return new String[][] { englishKeys, indonesianKeys };
+    }
+    
+    static int[][] sortOrders(Word[] table) {
+        return sortOrders(foldKeys(table, new LoadProgress(null)));
+    }
+    
+    private static int[][] sortOrders(String[][] keys) {
+        return new int[][] { sortOrder(keys[0]), sortOrder(keys[1]) };
+    }
+    
+    private static int[] sortOrder(String[] keys) {
+        int total = keys.length;
+        Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+        
+        int[] sorted = new int[total];
+        for (int i = 0; i < total; i++) {
+            sorted[i] = order[i];
+        }
+        return sorted;
+    }
+    
+    public WordIndex getFrozenEnglishIndex() {
+        return refrozen().english().ordered();
+    }
+    
+    public WordIndex getFrozenIndonesianIndex() {
+        return refrozen().indonesian().ordered();
+    }
+    
+    public PersistentRedBlackTree getEnglishIndex() {
+        return englishIndex.current();
+    }
+    
+    public PersistentRedBlackTree getIndonesianIndex() {
+        return indonesianIndex.current();
+    }
+    
+    public List<Word> getEnglishPage(int pageIndex, int pageSize) {
+        return englishIndex.page(pageIndex, pageSize);
+    }
+    
+    public List<Word> getIndonesianPage(int pageIndex, int pageSize) {
+        return indonesianIndex.page(pageIndex, pageSize);
+    }
+    
+    public DictionaryDiff diff(Dictionary newer) {
+        return DictionaryDiff.between(englishIndex.current(), newer.englishIndex.current());
+    }
+    
+    public BloomFilter getEnglishFilter() {
+        return englishFilter;
+    }
+    
+    public BloomFilter getIndonesianFilter() {
+        return indonesianFilter;
+    }
+    
+    public List<Word> lookupEnglish(CharSequence key) {
+        return lookup(englishIndex, englishFilter, key);
+    }
+    
+    public List<Word> lookupIndonesian(CharSequence key) {
+        return lookup(indonesianIndex, indonesianFilter, key);
+    }
+    
+    private static List<Word> lookup(ShardedIndex index, BloomFilter filter, CharSequence key) {
+        if (!filter.mightContain(key)) {
+            return Collections.emptyList();
+        }
+        List<Word> matches = index.lookup(key);
+        if (matches.isEmpty()) {
+            filter.recordFalsePositive();
+        }
+        return matches;
+    }
+    
+    public List<Word> getEnglishCompletions(CharSequence prefix, int limit) {
+        return englishIndex.getRecommendations(prefix, limit);
+    }
+    
+    public List<Word> getIndonesianCompletions(CharSequence prefix, int limit) {
+        return indonesianIndex.getRecommendations(prefix, limit);
+    }
+    
+    public int forEachEnglishCompletion(CharSequence prefix, int limit, Consumer<? super Word> sink) {
+        return englishIndex.forEachCompletion(prefix, limit, sink);
+    }
+    
+    public int forEachIndonesianCompletion(CharSequence prefix, int limit, Consumer<? super Word> sink) {
+        return indonesianIndex.forEachCompletion(prefix, limit, sink);
+    }
+    
+    public List<Word> getRecommendations(CharSequence prefix) {
+        List<Word> recommendations = englishIndex.suggest(prefix, RECOMMENDATION_LIMIT);
+        for (Word word : indonesianIndex.suggest(prefix, RECOMMENDATION_LIMIT)) {
+            if (recommendations.size() >= RECOMMENDATION_LIMIT) {
+                break;
+            }
+            if (!containsInstance(recommendations, word)) {
+                recommendations.add(word);
             }
         }
         return recommendations;
     }
     
-    public List<Word> searchWord(String keyword) {
+    private static boolean containsInstance(List<Word> words, Word word) {
+        for (Word candidate : words) {
+            if (candidate == word) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public List<Word> searchWord(CharSequence keyword) {
+        ShardedIndex current = englishIndex;
+        SubstringIndex index = substringIndex();
         List<Word> results = new ArrayList<>();
-        String lowerKeyword = keyword.toLowerCase();
-        
-        for (Word word : words) {
-            if (word.getEnglish().toLowerCase().contains(lowerKeyword) ||
-                word.getIndonesian().toLowerCase().contains(lowerKeyword)) {
+        index.index.search(keyword, id -> {
+            Word word = index.words[id];
+            if (current.containsWord(word.getEnglish(), word)) {
                 results.add(word);
             }
+        });
+        if (index.pending > 0) {
+            for (Word word : index.unindexed.getAllWordsInOrder()) {
+                if (NGramIndex.matches(KeyNormalizer.fold(word.getEnglish()),
+                                       KeyNormalizer.fold(word.getIndonesian()), keyword)
+                        && current.containsWord(word.getEnglish(), word)) {
+                    results.add(word);
+                }
+            }
         }
         return results;
     }
     
+    private SubstringIndex substringIndex() {
+        SubstringIndex index = substringIndex.get();
+        if (index != null && !index.isOutdated()) {
+            return index;
+        }
+        Lock exclusive = structureLock.writeLock();
+        exclusive.lock();
+        try {
+            index = substringIndex.get();
+            if (index == null || index.isOutdated()) {
+                Word[] table = englishIndex.getAllWordsInOrder().toArray(new Word[0]);
+                String[][] keys = foldKeys(table, new LoadProgress(null));
+                index = new SubstringIndex(new NGramIndex(keys[0], keys[1]), table,
+                                           PersistentRedBlackTree.empty(), 0, 0);
+                substringIndex.set(index);
+            }
+            return index;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+    
     public List<Word> getAllWords() {
-        return new ArrayList<>(words);
+        return englishIndex.current().asList();
     }
     
-    public Word findWordByEnglish(String english) {
-        String lowerEnglish = english.toLowerCase();
-        for (Word word : words) {
-            if (word.getEnglish().toLowerCase().equals(lowerEnglish)) {
-                return word;
-            }
+    public Definition getDefinition(Word word) {
+        if (word.hasDefinition()) {
+            return new Definition(word.getDefinitionEn(), word.getDefinitionId());
         }
-        return null;
+        return definitions != null ? definitions.get(word) : null;
     }
     
-    public Word findWordByIndonesian(String indonesian) {
-        String lowerIndonesian = indonesian.toLowerCase();
-        for (Word word : words) {
-            if (word.getIndonesian().toLowerCase().equals(lowerIndonesian)) {
-                return word;
-            }
+    public Word findWordByEnglish(CharSequence english) {
+        return find(englishIndex, englishFilter, english);
+    }
+    
+    public Word findWordByIndonesian(CharSequence indonesian) {
+        return find(indonesianIndex, indonesianFilter, indonesian);
+    }
+    
+    private static Word find(ShardedIndex index, BloomFilter filter, CharSequence key) {
+        if (!filter.mightContain(key)) {
+            return null;
         }
-        return null;
+        Word match = index.find(key);
+        if (match == null) {
+            filter.recordFalsePositive();
+        }
+        return match;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DictionaryDiff {
+    private final List<Word> added;
+    private final List<Word> removed;
+    private final List<Word> changed;
+
+    private DictionaryDiff(List<Word> added, List<Word> removed, List<Word> changed) {
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+    }
+
+    public static DictionaryDiff between(RedBlackTree older, RedBlackTree newer) {
+        RedBlackTree added = newer.copy();
+        added.difference(older);
+        RedBlackTree removed = older.copy();
+        removed.difference(newer);
+        RedBlackTree common = newer.copy();
+        common.intersection(older);
+
+        List<Word> changed = new ArrayList<>();
+        for (RedBlackTree.Node node : common) {
+            RedBlackTree.Node previous = older.searchNode(node.getKey());
+            if (!sameWords(previous.getWords(), node.getWords())) {
+                node.collectWords(changed);
+            }
+        }
+        return new DictionaryDiff(added.getAllWordsInOrder(), removed.getAllWordsInOrder(), changed);
+    }
+
+    public static DictionaryDiff between(PersistentRedBlackTree older, PersistentRedBlackTree newer) {
+        List<Word> changed = new ArrayList<>();
+        for (String key : newer.intersection(older).getAllKeysInOrder()) {
+            List<Word> current = newer.searchAll(key);
+            if (!sameWords(older.searchAll(key), current)) {
+                changed.addAll(current);
+            }
+        }
+        return new DictionaryDiff(newer.difference(older).getAllWordsInOrder(),
+                                  older.difference(newer).getAllWordsInOrder(), changed);
+    }
+
+    private static boolean sameWords(List<Word> a, List<Word> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).sameAs(b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<Word> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    public List<Word> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    public List<Word> getChanged() {
+        return Collections.unmodifiableList(changed);
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+}
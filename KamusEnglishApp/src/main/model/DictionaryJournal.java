@@ -0,0 +1,548 @@
+package main.model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.CRC32;
+
+public class DictionaryJournal implements Dictionary.MutationListener, Closeable {
+    private static final int MAGIC = 0x4B4A524E;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 20;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final long COMPACTION_THRESHOLD = 1 << 20;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private static final byte ADD = 1;
+    private static final byte UPDATE = 2;
+    private static final byte REMOVE = 3;
+
+    private interface RecordHandler {
+        void accept(byte[] payload) throws IOException;
+    }
+
+    private final Path path;
+    private final Object appendLock = new Object();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(daemon("dictionary-journal-writer"));
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(daemon("dictionary-journal-compactor"));
+    private FileChannel channel;
+    private int generation;
+    private long foldedLength;
+    private long logicalEnd;
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private CompletableFuture<Void> pendingCommit = new CompletableFuture<>();
+    private CompletableFuture<Void> lastCommit = CompletableFuture.completedFuture(null);
+    private IOException failure;
+    private boolean flushScheduled;
+    private boolean compacting;
+    private boolean closed;
+    private Dictionary dictionary;
+    private Path snapshotPath;
+    private long sourceFingerprint;
+
+    private DictionaryJournal(Path path, FileChannel channel, int generation, long foldedLength, long end) {
+        this.path = path;
+        this.channel = channel;
+        this.generation = generation;
+        this.foldedLength = foldedLength;
+        this.logicalEnd = end;
+    }
+
+    public static DictionaryJournal open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                channel.truncate(0);
+                channel.write(header(0, 0), 0);
+                channel.force(true);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new EOFException("Truncated journal header: " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a dictionary journal: " + path);
+            }
+            int generation = header.getInt();
+            long foldedLength = header.getLong();
+
+            long end = readRecords(channel, HEADER_BYTES, channel.size(), payload -> { });
+            if (end < channel.size()) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+            return new DictionaryJournal(path, channel, generation, foldedLength, end);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    long getFoldedLength() {
+        synchronized (appendLock) {
+            return foldedLength;
+        }
+    }
+
+    long foldedFingerprint(long sourceFingerprint) {
+        synchronized (appendLock) {
+            return fingerprintFor(sourceFingerprint, generation);
+        }
+    }
+
+    private static long fingerprintFor(long sourceFingerprint, int generation) {
+        return sourceFingerprint ^ (generation * GOLDEN);
+    }
+
+    public long size() {
+        synchronized (appendLock) {
+            return logicalEnd;
+        }
+    }
+
+    void replay(Dictionary target, long from) throws IOException {
+        long end = size();
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            readRecords(in, Math.max(from, HEADER_BYTES), end, payload -> apply(target, payload));
+        }
+    }
+
+    private static void apply(Dictionary target, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        if (op == ADD) {
+            target.addWord(readWord(in));
+        } else if (op == UPDATE) {
+            Word existing = target.resolve(readWord(in));
+            Word replacement = readWord(in);
+            if (existing == null || !target.updateWord(existing, replacement)) {
+                target.addWord(replacement);
+            }
+        } else if (op == REMOVE) {
+            Word existing = target.resolve(readWord(in));
+            if (existing != null) {
+                target.removeWord(existing);
+            }
+        } else {
+            throw new IOException("Unknown journal operation: " + op);
+        }
+    }
+
+    void attach(Dictionary target, Path snapshotPath, long sourceFingerprint) {
+        Dictionary previous;
+        synchronized (appendLock) {
+            previous = dictionary;
+            this.dictionary = target;
+            this.snapshotPath = snapshotPath;
+            this.sourceFingerprint = sourceFingerprint;
+        }
+        if (previous != null && previous != target) {
+            previous.removeMutationListener(this);
+        }
+        target.addMutationListener(this);
+    }
+
+    @Override
+    public void onWordAdded(Word word) {
+        append(record(ADD, word));
+    }
+
+    @Override
+    public void onWordUpdated(Word existing, Word replacement) {
+        append(record(UPDATE, existing, replacement));
+    }
+
+    @Override
+    public void onWordRemoved(Word word) {
+        append(record(REMOVE, word));
+    }
+
+    private void append(byte[] record) {
+        boolean compactNow;
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed: " + path);
+            }
+            pending.write(record, 0, record.length);
+            logicalEnd += record.length;
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.execute(this::flush);
+            }
+            compactNow = !compacting && dictionary != null
+                    && logicalEnd - Math.max(foldedLength, HEADER_BYTES) >= COMPACTION_THRESHOLD;
+        }
+        if (compactNow) {
+            compact().whenComplete((result, error) -> {
+                if (error != null) {
+                    error.printStackTrace();
+                }
+            });
+        }
+    }
+
+    private void flush() {
+        byte[] batch;
+        CompletableFuture<Void> commit;
+        IOException failed;
+        synchronized (appendLock) {
+            batch = pending.toByteArray();
+            pending.reset();
+            commit = pendingCommit;
+            pendingCommit = new CompletableFuture<>();
+            lastCommit = commit;
+            flushScheduled = false;
+            failed = failure;
+        }
+        if (failed != null) {
+            commit.completeExceptionally(failed);
+            return;
+        }
+        if (batch.length == 0) {
+            commit.complete(null);
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            commit.complete(null);
+        } catch (IOException e) {
+            e.printStackTrace();
+            synchronized (appendLock) {
+                failure = e;
+            }
+            commit.completeExceptionally(e);
+        }
+    }
+
+    public CompletableFuture<Void> sync() {
+        synchronized (appendLock) {
+            if (pending.size() == 0 && !flushScheduled) {
+                return lastCommit;
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.execute(this::flush);
+            }
+            return pendingCommit;
+        }
+    }
+
+    private void awaitSync() throws IOException {
+        try {
+            sync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Void> compact() {
+        synchronized (appendLock) {
+            if (compacting || closed || dictionary == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            compacting = true;
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                runCompaction();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                synchronized (appendLock) {
+                    compacting = false;
+                }
+            }
+        }, compactor);
+    }
+
+    private void runCompaction() throws IOException {
+        PersistentRedBlackTree view;
+        long end;
+        int nextGeneration;
+        Lock exclusive = dictionary.exclusiveLock();
+        exclusive.lock();
+        try {
+            view = dictionary.view();
+            synchronized (appendLock) {
+                end = logicalEnd;
+                nextGeneration = generation + 1;
+            }
+        } finally {
+            exclusive.unlock();
+        }
+        Word[] state = view.getAllWordsInOrder().toArray(new Word[0]);
+        awaitSync();
+
+        byte[] net = netEffect(end);
+        long nextFolded = HEADER_BYTES + net.length;
+        writeSnapshot(state, fingerprintFor(sourceFingerprint, nextGeneration));
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                              StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer head = header(nextGeneration, nextFolded);
+            while (head.hasRemaining()) {
+                target.write(head);
+            }
+            ByteBuffer body = ByteBuffer.wrap(net);
+            while (body.hasRemaining()) {
+                target.write(body);
+            }
+            writer.submit(() -> {
+                swap(target, temp, end, nextGeneration, nextFolded);
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            target.close();
+            throw new IOException("Interrupted while compacting " + path, e);
+        } catch (ExecutionException e) {
+            target.close();
+            throw new IOException("Failed to compact " + path, e.getCause());
+        }
+    }
+
+    private void swap(FileChannel target, Path temp, long end, int nextGeneration, long nextFolded)
+            throws IOException {
+        flush();
+        long tail = channel.size() - end;
+        for (long copied = 0; copied < tail; ) {
+            copied += channel.transferTo(end + copied, tail - copied, target);
+        }
+        target.force(true);
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        synchronized (appendLock) {
+            channel.close();
+            channel = target;
+            generation = nextGeneration;
+            foldedLength = nextFolded;
+            logicalEnd = logicalEnd - end + nextFolded;
+        }
+    }
+
+    private byte[] netEffect(long end) throws IOException {
+        Map<String, List<Word>> added = new LinkedHashMap<>();
+        Map<String, List<Word>> removed = new LinkedHashMap<>();
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            readRecords(in, HEADER_BYTES, end, payload -> {
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte op = record.readByte();
+                if (op == UPDATE || op == REMOVE) {
+                    Word existing = readWord(record);
+                    List<Word> pendingAdds = added.get(identity(existing));
+                    if (pendingAdds != null && !pendingAdds.isEmpty()) {
+                        pendingAdds.remove(pendingAdds.size() - 1);
+                    } else {
+                        removed.computeIfAbsent(identity(existing), key -> new ArrayList<>()).add(existing);
+                    }
+                }
+                if (op == ADD || op == UPDATE) {
+                    Word word = readWord(record);
+                    added.computeIfAbsent(identity(word), key -> new ArrayList<>()).add(word);
+                }
+            });
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (List<Word> words : removed.values()) {
+            for (Word word : words) {
+                out.write(record(REMOVE, word));
+            }
+        }
+        for (List<Word> words : added.values()) {
+            for (Word word : words) {
+                out.write(record(ADD, word));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void writeSnapshot(Word[] state, long fingerprint) throws IOException {
+        if (snapshotPath == null || !Files.isDirectory(snapshotPath.toAbsolutePath().getParent())) {
+            return;
+        }
+        int[][] orders = Dictionary.sortOrders(state);
+        DictionarySnapshot.write(snapshotPath, fingerprint, state, orders[0], orders[1]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Dictionary attached;
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            attached = dictionary;
+        }
+        if (attached != null) {
+            attached.removeMutationListener(this);
+        }
+        try {
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+            awaitSync();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writer.shutdown();
+            channel.close();
+        }
+    }
+
+    private static long readRecords(FileChannel channel, long from, long to, RecordHandler handler)
+            throws IOException {
+        DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel.position(from)), 1 << 16));
+        CRC32 crc = new CRC32();
+        long offset = from;
+        try {
+            while (offset + RECORD_HEADER_BYTES <= to) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || offset + RECORD_HEADER_BYTES + length > to) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                handler.accept(payload);
+                offset += RECORD_HEADER_BYTES + length;
+            }
+        } catch (EOFException e) {
+            // A torn tail: everything before offset is intact.
+        }
+        return offset;
+    }
+
+    private static byte[] record(byte op, Word... words) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(op);
+            for (Word word : words) {
+                writeWord(out, word);
+            }
+            out.flush();
+
+            byte[] record = bytes.toByteArray();
+            int length = record.length - RECORD_HEADER_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(record, RECORD_HEADER_BYTES, length);
+            ByteBuffer.wrap(record).putInt(length).putInt((int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String[] fields(Word word) {
+        return new String[] {
+            word.getEnglish(), word.getIndonesian(), word.getCategory(),
+            word.getDefinitionEn(), word.getDefinitionId(), word.getGimmickType()
+        };
+    }
+
+    private static void writeWord(DataOutputStream out, Word word) throws IOException {
+        for (String field : fields(word)) {
+            if (field == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static Word readWord(DataInputStream in) throws IOException {
+        String english = readField(in);
+        String indonesian = readField(in);
+        String category = readField(in);
+        String definitionEn = readField(in);
+        String definitionId = readField(in);
+        String gimmickType = readField(in);
+        return new Word(english, indonesian, category, definitionEn, definitionId, gimmickType);
+    }
+
+    private static String readField(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String identity(Word word) {
+        StringBuilder key = new StringBuilder();
+        for (String field : fields(word)) {
+            key.append(field == null ? -1 : field.length()).append(':');
+            if (field != null) {
+                key.append(field);
+            }
+        }
+        return key.toString();
+    }
+
+    private static ByteBuffer header(int generation, long foldedLength) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(generation).putLong(foldedLength);
+        header.flip();
+        return header;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package main.model;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+public class DictionaryReader implements Closeable {
+    private static final char SEPARATOR = '|';
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private int skippedLines;
+    private long charsRead;
+
+    public DictionaryReader(Reader source) {
+        this.reader = new BufferedReader(source, BUFFER_SIZE);
+        this.lineNumber = 0;
+        this.skippedLines = 0;
+        this.charsRead = 0;
+    }
+
+    public static DictionaryReader open(String location) throws IOException {
+        return new DictionaryReader(new InputStreamReader(openStream(location), StandardCharsets.UTF_8));
+    }
+
+    static InputStream openStream(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            return Files.newInputStream(path);
+        }
+
+        String resource = location.startsWith("src/") ? location.substring(4) : location;
+        InputStream in = DictionaryReader.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Dictionary file not found: " + location);
+        }
+        return in;
+    }
+
+    public static int forEach(String location, Consumer<Word> sink) throws IOException {
+        int count = 0;
+        try (DictionaryReader reader = open(location)) {
+            Word word;
+            while ((word = reader.next()) != null) {
+                sink.accept(word);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Word next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            charsRead += line.length() + 1;
+
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            Word word = parse(line);
+            if (word != null) {
+                return word;
+            }
+            skippedLines++;
+            System.out.println("Skipping malformed dictionary entry at line " + lineNumber + ": " + line);
+        }
+        return null;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public int getSkippedLines() {
+        return skippedLines;
+    }
+
+    public long getCharsRead() {
+        return charsRead;
+    }
+
+    private Word parse(String line) {
+        String[] fields = new String[6];
+        int count = 0;
+        int start = 0;
+
+        while (count < fields.length) {
+            int end = line.indexOf(SEPARATOR, start);
+            if (end < 0 || count == fields.length - 1) {
+                fields[count++] = line.substring(start).trim();
+                break;
+            }
+            fields[count++] = line.substring(start, end).trim();
+            start = end + 1;
+        }
+
+        if (count < 3 || fields[0].isEmpty() || fields[1].isEmpty()) {
+            return null;
+        }
+
+        if (count == 3) {
+            return new Word(fields[0], fields[1], fields[2]);
+        }
+
+        String definitionEn = fields[3] != null ? fields[3] : "";
+        String definitionId = fields[4] != null ? fields[4] : "";
+        String gimmickType = fields[5] != null && !fields[5].isEmpty() ? fields[5] : null;
+        return new Word(fields[0], fields[1], fields[2], definitionEn, definitionId, gimmickType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,150 @@
+package main.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DictionaryReloader {
+    private static final int INCREMENTAL_RATIO = 10;
+
+    private final String[] extraFiles;
+    private long[] baseline;
+    private boolean lastReloadIncremental;
+
+    private DictionaryReloader(String[] extraFiles, long[] baseline) {
+        this.extraFiles = extraFiles;
+        this.baseline = baseline;
+    }
+
+    private static final class Source {
+        final Word[] words;
+        final long[] hashes;
+
+        Source(Word[] words, long[] hashes) {
+            this.words = words;
+            this.hashes = hashes;
+        }
+    }
+
+    public static DictionaryReloader capture(String... extraFiles) throws IOException {
+        long[] hashes = read(extraFiles).hashes.clone();
+        Arrays.sort(hashes);
+        return new DictionaryReloader(extraFiles, hashes);
+    }
+
+    public synchronized Dictionary reload(Dictionary current, DictionaryJournal journal,
+                                          Dictionary.ProgressListener listener) throws IOException {
+        Source source = read(extraFiles);
+        int total = source.words.length;
+        Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(source.hashes[a], source.hashes[b]));
+
+        Map<Long, Integer> removed = new HashMap<>();
+        List<Word> added = new ArrayList<>();
+        int removedCount = 0;
+        int i = 0;
+        int j = 0;
+        while (i < baseline.length || j < total) {
+            if (j == total || (i < baseline.length && baseline[i] < source.hashes[order[j]])) {
+                removed.merge(baseline[i++], 1, Integer::sum);
+                removedCount++;
+            } else if (i == baseline.length || baseline[i] > source.hashes[order[j]]) {
+                added.add(source.words[order[j++]]);
+            } else {
+                i++;
+                j++;
+            }
+        }
+
+        long[] sorted = new long[total];
+        for (int k = 0; k < total; k++) {
+            sorted[k] = source.hashes[order[k]];
+        }
+        int changes = removedCount + added.size();
+        Dictionary reloaded;
+        if ((long) changes * INCREMENTAL_RATIO > Math.max(total, baseline.length)) {
+            reloaded = journal != null ? Dictionary.open(listener, journal, extraFiles)
+                                       : Dictionary.open(listener, extraFiles);
+            lastReloadIncremental = false;
+        } else {
+            reloaded = current.copy();
+            if (!removed.isEmpty()) {
+                List<Word> obsolete = new ArrayList<>(removedCount);
+                for (Word word : reloaded.getAllWords()) {
+                    long key = hash(word);
+                    Integer remaining = removed.remove(key);
+                    if (remaining != null) {
+                        obsolete.add(word);
+                        if (remaining > 1) {
+                            removed.put(key, remaining - 1);
+                        } else if (removed.isEmpty()) {
+                            break;
+                        }
+                    }
+                }
+                for (Word word : obsolete) {
+                    reloaded.removeWord(word);
+                }
+            }
+            for (Word word : added) {
+                reloaded.addWord(word);
+            }
+            if (journal != null) {
+                reloaded.attach(journal, extraFiles);
+            }
+            lastReloadIncremental = true;
+        }
+        baseline = sorted;
+        return reloaded;
+    }
+
+    public String[] getSourceFiles() {
+        return Dictionary.sourceFiles(extraFiles);
+    }
+
+    public synchronized boolean isLastReloadIncremental() {
+        return lastReloadIncremental;
+    }
+
+    private static Source read(String[] extraFiles) throws IOException {
+        List<Word> words = new ArrayList<>();
+        for (String file : Dictionary.sourceFiles(extraFiles)) {
+            DictionaryReader.forEach(file, words::add);
+        }
+        Word[] table = words.toArray(new Word[0]);
+        long[] hashes = new long[table.length];
+        for (int i = 0; i < table.length; i++) {
+            hashes[i] = hash(table[i]);
+        }
+        return new Source(table, hashes);
+    }
+
+    private static long hash(Word word) {
+        long h = 0xcbf29ce484222325L;
+        h = hash(h, word.getEnglish());
+        h = hash(h, word.getIndonesian());
+        h = hash(h, word.getCategory());
+        h = hash(h, word.getDefinitionEn());
+        h = hash(h, word.getDefinitionId());
+        return hash(h, word.getGimmickType());
+    }
+
+    private static long hash(long h, String field) {
+        if (field == null) {
+            h ^= 0x1E;
+            return h * 0x100000001b3L;
+        }
+        for (int i = 0; i < field.length(); i++) {
+            h ^= field.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= 0x1F;
+        return h * 0x100000001b3L;
+    }
+}
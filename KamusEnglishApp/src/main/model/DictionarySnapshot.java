@@ -0,0 +1,473 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class DictionarySnapshot {
+    private static final int MAGIC = 0x4B414D53;
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 40;
+    private static final int BLOCK_SIZE = 16;
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int maxKeyLength;
+    private final int recordsOffset;
+    private final int englishOffset;
+    private final int indonesianOffset;
+    private final Direction english;
+    private final Direction indonesian;
+    private final AtomicReferenceArray<Word> words;
+
+    private DictionarySnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.wordCount = buffer.getInt(16);
+        this.maxKeyLength = buffer.getInt(20);
+        this.recordsOffset = buffer.getInt(24);
+        this.englishOffset = buffer.getInt(28);
+        this.indonesianOffset = buffer.getInt(32);
+        this.english = new Direction(englishOffset);
+        this.indonesian = new Direction(indonesianOffset);
+        this.words = new AtomicReferenceArray<>(wordCount);
+    }
+
+    public static DictionarySnapshot openIfValid(Path path, long fingerprint) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(8) != fingerprint || buffer.getInt(36) != size
+                    || !hasValidLayout(buffer, (int) size)) {
+                return null;
+            }
+            DictionarySnapshot snapshot = new DictionarySnapshot(buffer);
+            return snapshot.hasValidTables((int) size) ? snapshot : null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static boolean hasValidLayout(ByteBuffer buffer, int size) {
+        int count = buffer.getInt(16);
+        int records = buffer.getInt(24);
+        int englishOffset = buffer.getInt(28);
+        int indonesianOffset = buffer.getInt(32);
+        return count >= 0 && buffer.getInt(20) >= 0 && records == HEADER_BYTES
+            && records + 4L * count <= englishOffset && englishOffset + 8L <= indonesianOffset
+            && indonesianOffset + 8L <= size;
+    }
+
+    private boolean hasValidTables(int size) {
+        int recordsEnd = recordsOffset + 4 * wordCount;
+        for (int id = 0; id < wordCount; id++) {
+            int offset = buffer.getInt(recordsOffset + 4 * id);
+            if (offset < recordsEnd || offset >= englishOffset) {
+                return false;
+            }
+        }
+        return english.hasValidTables(indonesianOffset) && indonesian.hasValidTables(size);
+    }
+
+    public int size() {
+        return wordCount;
+    }
+
+    public Word word(int id) {
+        Word word = words.get(id);
+        if (word != null) {
+            return word;
+        }
+        Word decoded = readWord(id);
+        return words.compareAndSet(id, null, decoded) ? decoded : words.get(id);
+    }
+
+    public List<Word> lookupEnglish(CharSequence key) {
+        return english.lookup(key);
+    }
+
+    public List<Word> lookupIndonesian(CharSequence key) {
+        return indonesian.lookup(key);
+    }
+
+    String[] readSortedKeys(boolean englishKeys, int[] ids) {
+        return (englishKeys ? english : indonesian).readSorted(ids);
+    }
+
+    private Word readWord(int id) {
+        int[] position = { buffer.getInt(recordsOffset + 4 * id) };
+        String englishText = readString(position);
+        String indonesianText = readString(position);
+        String category = readString(position);
+        String definitionEn = readString(position);
+        String definitionId = readString(position);
+        String gimmickType = readString(position);
+        return new Word(englishText, indonesianText, category, definitionEn, definitionId, gimmickType);
+    }
+
+    private String readString(int[] position) {
+        int length = readVarInt(position) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position[0]);
+        view.get(bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readVarInt(int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position[0]++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private final class Direction {
+        private final int keyCount;
+        private final int blockCount;
+        private final int blockTable;
+        private final int postingTable;
+        private final int idTable;
+        private volatile PostingList[] views;
+
+        Direction(int offset) {
+            this.keyCount = buffer.getInt(offset);
+            this.blockCount = buffer.getInt(offset + 4);
+            this.blockTable = offset + 8;
+            this.postingTable = blockTable + 4 * blockCount;
+            this.idTable = postingTable + 4 * (keyCount + 1);
+        }
+
+        boolean hasValidTables(int end) {
+            if (keyCount < 0 || keyCount > wordCount || blockCount != (keyCount + BLOCK_SIZE - 1) / BLOCK_SIZE
+                    || idTable + 4L * wordCount > end) {
+                return false;
+            }
+            if (buffer.getInt(postingTable) != 0 || buffer.getInt(postingTable + 4 * keyCount) != wordCount) {
+                return false;
+            }
+            for (int k = 0; k < keyCount; k++) {
+                if (buffer.getInt(postingTable + 4 * k) >= buffer.getInt(postingTable + 4 * (k + 1))) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < wordCount; i++) {
+                int id = buffer.getInt(idTable + 4 * i);
+                if (id < 0 || id >= wordCount) {
+                    return false;
+                }
+            }
+            for (int block = 0; block < blockCount; block++) {
+                int offset = buffer.getInt(blockTable + 4 * block);
+                if (offset < idTable + 4 * wordCount || offset >= end) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<Word> lookup(CharSequence key) {
+            Cursor cursor = seek(key);
+            if (cursor == null || cursor.compareTo(key) != 0) {
+                return Collections.emptyList();
+            }
+            PostingList[] cached = views;
+            if (cached == null) {
+                cached = new PostingList[keyCount];
+                views = cached;
+            }
+            PostingList view = cached[cursor.index];
+            if (view == null) {
+                int from = buffer.getInt(postingTable + 4 * cursor.index);
+                int[] ids = new int[buffer.getInt(postingTable + 4 * (cursor.index + 1)) - from];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = buffer.getInt(idTable + 4 * (from + i));
+                }
+                view = new PostingList(DictionarySnapshot.this::word, ids, 0, ids.length);
+                cached[cursor.index] = view;
+            }
+            return view;
+        }
+
+        String[] readSorted(int[] ids) {
+            String[] keys = new String[wordCount];
+            if (keyCount == 0) {
+                return keys;
+            }
+            Cursor cursor = new Cursor();
+            cursor.seekBlock(0);
+            do {
+                String key = new String(cursor.key, 0, cursor.length);
+                int from = buffer.getInt(postingTable + 4 * cursor.index);
+                int to = buffer.getInt(postingTable + 4 * (cursor.index + 1));
+                for (int i = from; i < to; i++) {
+                    keys[i] = key;
+                    ids[i] = buffer.getInt(idTable + 4 * i);
+                }
+            } while (cursor.advance());
+            return keys;
+        }
+
+        private Cursor seek(CharSequence query) {
+            if (keyCount == 0) {
+                return null;
+            }
+            int lo = 0;
+            int hi = blockCount - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (compareBlockHead(mid, query) <= 0) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+
+            Cursor cursor = new Cursor();
+            cursor.seekBlock(lo);
+            while (cursor.compareTo(query) < 0) {
+                if (!cursor.advance()) {
+                    return null;
+                }
+            }
+            return cursor;
+        }
+
+        private int compareBlockHead(int block, CharSequence query) {
+            int[] position = { buffer.getInt(blockTable + 4 * block) };
+            readVarInt(position);
+            int length = readVarInt(position);
+            int common = Math.min(length, query.length());
+            for (int i = 0; i < common; i++) {
+                int diff = buffer.getChar(position[0] + 2 * i) - Character.toLowerCase(query.charAt(i));
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return length - query.length();
+        }
+
+        private final class Cursor {
+            final char[] key = new char[maxKeyLength];
+            final int[] position = new int[1];
+            int length;
+            int index;
+
+            void seekBlock(int block) {
+                index = block * BLOCK_SIZE;
+                position[0] = buffer.getInt(blockTable + 4 * block);
+                readKey();
+            }
+
+            boolean advance() {
+                index++;
+                if (index >= keyCount) {
+                    return false;
+                }
+                readKey();
+                return true;
+            }
+
+            private void readKey() {
+                int shared = readVarInt(position);
+                int suffix = readVarInt(position);
+                if (shared > length || shared + suffix > key.length) {
+                    throw new IllegalStateException("Corrupt snapshot key at offset " + position[0]);
+                }
+                for (int i = 0; i < suffix; i++) {
+                    key[shared + i] = buffer.getChar(position[0]);
+                    position[0] += 2;
+                }
+                length = shared + suffix;
+            }
+
+            int compareTo(CharSequence query) {
+                int common = Math.min(length, query.length());
+                for (int i = 0; i < common; i++) {
+                    int diff = key[i] - Character.toLowerCase(query.charAt(i));
+                    if (diff != 0) {
+                        return diff;
+                    }
+                }
+                return length - query.length();
+            }
+        }
+    }
+
+    public static void write(Path path, long fingerprint, Word[] words,
+                             int[] englishOrder, int[] indonesianOrder) throws IOException {
+        int count = words.length;
+        String[] englishKeys = new String[count];
+        String[] indonesianKeys = new String[count];
+        int maxKeyLength = 0;
+        for (int i = 0; i < count; i++) {
+            englishKeys[i] = KeyNormalizer.fold(words[englishOrder[i]].getEnglish());
+            indonesianKeys[i] = KeyNormalizer.fold(words[indonesianOrder[i]].getIndonesian());
+            maxKeyLength = Math.max(maxKeyLength, Math.max(englishKeys[i].length(), indonesianKeys[i].length()));
+        }
+
+        byte[] records = encodeRecords(words, HEADER_BYTES);
+        int englishOffset = HEADER_BYTES + records.length;
+        byte[] englishSection = encodeDirection(englishKeys, englishOrder, englishOffset);
+        int indonesianOffset = englishOffset + englishSection.length;
+        byte[] indonesianSection = encodeDirection(indonesianKeys, indonesianOrder, indonesianOffset);
+        long total = (long) indonesianOffset + indonesianSection.length;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot too large: " + total + " bytes");
+        }
+
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(fingerprint);
+                out.writeInt(count);
+                out.writeInt(maxKeyLength);
+                out.writeInt(HEADER_BYTES);
+                out.writeInt(englishOffset);
+                out.writeInt(indonesianOffset);
+                out.writeInt((int) total);
+                out.write(records);
+                out.write(englishSection);
+                out.write(indonesianSection);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] encodeRecords(Word[] words, int base) throws IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        int[] offsets = new int[words.length];
+        int tableBytes = 4 * words.length;
+        for (int id = 0; id < words.length; id++) {
+            Word word = words[id];
+            offsets[id] = base + tableBytes + data.size();
+            writeString(data, word.getEnglish());
+            writeString(data, word.getIndonesian());
+            writeString(data, word.getCategory());
+            writeString(data, word.getDefinitionEn());
+            writeString(data, word.getDefinitionId());
+            writeString(data, word.getGimmickType());
+        }
+
+        ByteArrayOutputStream section = new ByteArrayOutputStream(tableBytes + data.size());
+        DataOutputStream out = new DataOutputStream(section);
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        data.writeTo(out);
+        return section.toByteArray();
+    }
+
+    private static byte[] encodeDirection(String[] sortedKeys, int[] order, int base) throws IOException {
+        int total = sortedKeys.length;
+        int[] postingStarts = new int[total + 1];
+        int keyCount = 0;
+        for (int i = 0; i < total; i++) {
+            if (i > 0 && sortedKeys[i - 1].compareTo(sortedKeys[i]) > 0) {
+                throw new IllegalArgumentException("Keys are not sorted at index " + i + ": " + sortedKeys[i]);
+            }
+            if (i == 0 || !sortedKeys[i].equals(sortedKeys[i - 1])) {
+                postingStarts[keyCount++] = i;
+            }
+        }
+        postingStarts[keyCount] = total;
+
+        int blockCount = (keyCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int keyData = base + 8 + 4 * blockCount + 4 * (keyCount + 1) + 4 * total;
+        int[] blockOffsets = new int[blockCount];
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        DataOutputStream chars = new DataOutputStream(data);
+        String previous = null;
+        for (int k = 0; k < keyCount; k++) {
+            String key = sortedKeys[postingStarts[k]];
+            int shared = 0;
+            if (k % BLOCK_SIZE == 0) {
+                blockOffsets[k / BLOCK_SIZE] = keyData + data.size();
+            } else {
+                int limit = Math.min(key.length(), previous.length());
+                while (shared < limit && key.charAt(shared) == previous.charAt(shared)) {
+                    shared++;
+                }
+            }
+            writeVarInt(data, shared);
+            writeVarInt(data, key.length() - shared);
+            for (int i = shared; i < key.length(); i++) {
+                chars.writeChar(key.charAt(i));
+            }
+            previous = key;
+        }
+
+        ByteArrayOutputStream section = new ByteArrayOutputStream(keyData - base + data.size());
+        DataOutputStream out = new DataOutputStream(section);
+        out.writeInt(keyCount);
+        out.writeInt(blockCount);
+        for (int offset : blockOffsets) {
+            out.writeInt(offset);
+        }
+        for (int k = 0; k <= keyCount; k++) {
+            out.writeInt(postingStarts[k]);
+        }
+        for (int id : order) {
+            out.writeInt(id);
+        }
+        data.writeTo(out);
+        return section.toByteArray();
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,338 @@
+package main.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+public class DoubleArrayTrie {
+    private static final int FREE = -1;
+    private static final int NO_VALUE = -1;
+    private static final int ROOT = 0;
+
+    private final char[] alphabet;
+    private final int[] asciiCodes;
+    private int[] base;
+    private int[] check;
+    private int[] value;
+    private int[] postings;
+    private int postingsLength;
+    private int capacity;
+    private int[] nextFree;
+    private int[] prevFree;
+    private int firstFree;
+    private int lastFree;
+    private int size;
+
+    private DoubleArrayTrie(char[] alphabet) {
+        this.alphabet = alphabet;
+        this.asciiCodes = new int[128];
+        for (int i = 0; i < alphabet.length; i++) {
+            if (alphabet[i] < 128) {
+                asciiCodes[alphabet[i]] = i + 1;
+            }
+        }
+        this.capacity = 0;
+        this.base = new int[0];
+        this.check = new int[0];
+        this.value = new int[0];
+        this.postings = new int[0];
+        this.postingsLength = 0;
+        this.nextFree = new int[0];
+        this.prevFree = new int[0];
+        this.firstFree = 0;
+        this.lastFree = -1;
+        ensureCapacity(Math.max(64, alphabet.length + 1));
+        occupy(ROOT, ROOT);
+    }
+
+    public static DoubleArrayTrie fromSorted(String[] keys, int[] values, int count) {
+        boolean[] seen = new boolean[Character.MAX_VALUE + 1];
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && keys[i - 1].compareTo(keys[i]) > 0) {
+                throw new IllegalArgumentException("Keys are not sorted at index " + i + ": " + keys[i]);
+            }
+            String key = keys[i];
+            for (int j = 0; j < key.length(); j++) {
+                char c = key.charAt(j);
+                if (!seen[c]) {
+                    seen[c] = true;
+                    distinct++;
+                }
+            }
+        }
+
+        char[] alphabet = new char[distinct];
+        int next = 0;
+        for (int c = 0; c < seen.length; c++) {
+            if (seen[c]) {
+                alphabet[next++] = (char) c;
+            }
+        }
+
+        DoubleArrayTrie trie = new DoubleArrayTrie(alphabet);
+        if (count > 0) {
+            trie.build(ROOT, keys, values, 0, count, 0);
+        }
+        trie.trim();
+        return trie;
+    }
+
+    private void build(int state, String[] keys, int[] values, int lo, int hi, int depth) {
+        int first = lo;
+        while (lo < hi && keys[lo].length() == depth) {
+            lo++;
+        }
+        if (lo - first == 1) {
+            value[state] = values[first];
+            size++;
+        } else if (lo - first > 1) {
+            value[state] = addPostings(values, first, lo);
+            size++;
+        }
+        if (lo >= hi) {
+            return;
+        }
+
+        int groups = 0;
+        int[] codes = new int[Math.min(hi - lo, alphabet.length)];
+        int[] starts = new int[codes.length + 1];
+        for (int i = lo; i < hi; i++) {
+            int code = codeOf(keys[i].charAt(depth));
+            if (groups == 0 || codes[groups - 1] != code) {
+                codes[groups] = code;
+                starts[groups] = i;
+                groups++;
+            }
+        }
+        starts[groups] = hi;
+
+        int b = findBase(codes, groups);
+        base[state] = b;
+        for (int g = 0; g < groups; g++) {
+            occupy(b + codes[g], state);
+        }
+
+        for (int g = 0; g < groups; g++) {
+            build(b + codes[g], keys, values, starts[g], starts[g + 1], depth + 1);
+        }
+    }
+
+    private int addPostings(int[] values, int from, int to) {
+        int count = to - from;
+        if (postingsLength + count + 1 > postings.length) {
+            postings = Arrays.copyOf(postings, Math.max(postingsLength + count + 1, postings.length * 2));
+        }
+        int offset = postingsLength;
+        postings[postingsLength++] = count;
+        System.arraycopy(values, from, postings, postingsLength, count);
+        postingsLength += count;
+        return -2 - offset;
+    }
+
+    private boolean emit(int encoded, IntPredicate sink) {
+        if (encoded >= 0) {
+            return sink.test(encoded);
+        }
+        int offset = -2 - encoded;
+        int count = postings[offset];
+        for (int i = 1; i <= count; i++) {
+            if (!sink.test(postings[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int findBase(int[] codes, int groups) {
+        int slot = firstFree;
+        while (true) {
+            int b = slot - codes[0];
+            if (b >= 1) {
+                ensureCapacity(b + codes[groups - 1] + 1);
+                boolean fits = true;
+                for (int g = 1; g < groups; g++) {
+                    if (check[b + codes[g]] != FREE) {
+                        fits = false;
+                        break;
+                    }
+                }
+                if (fits) {
+                    return b;
+                }
+            }
+            ensureCapacity(slot + 2);
+            slot = nextFree[slot];
+        }
+    }
+
+    private void occupy(int slot, int parent) {
+        check[slot] = parent;
+        int next = nextFree[slot];
+        int prev = prevFree[slot];
+        if (prev >= 0) {
+            nextFree[prev] = next;
+        } else {
+            firstFree = next;
+        }
+        if (next < capacity) {
+            prevFree[next] = prev;
+        } else {
+            lastFree = prev;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) {
+            return;
+        }
+        int oldCapacity = capacity;
+        int newCapacity = Math.max(required, capacity * 2);
+        base = Arrays.copyOf(base, newCapacity);
+        check = Arrays.copyOf(check, newCapacity);
+        value = Arrays.copyOf(value, newCapacity);
+        nextFree = Arrays.copyOf(nextFree, newCapacity);
+        prevFree = Arrays.copyOf(prevFree, newCapacity);
+        Arrays.fill(check, oldCapacity, newCapacity, FREE);
+        Arrays.fill(value, oldCapacity, newCapacity, NO_VALUE);
+        for (int i = oldCapacity; i < newCapacity; i++) {
+            nextFree[i] = i + 1;
+            prevFree[i] = i == oldCapacity ? lastFree : i - 1;
+        }
+        if (lastFree < 0) {
+            firstFree = oldCapacity;
+        }
+        lastFree = newCapacity - 1;
+        capacity = newCapacity;
+    }
+
+    private void trim() {
+        int used = capacity;
+        while (used > 1 && check[used - 1] == FREE) {
+            used--;
+        }
+        base = Arrays.copyOf(base, used);
+        check = Arrays.copyOf(check, used);
+        value = Arrays.copyOf(value, used);
+        postings = Arrays.copyOf(postings, postingsLength);
+        nextFree = null;
+        prevFree = null;
+        capacity = used;
+    }
+
+    private int codeOf(char c) {
+        if (c < 128) {
+            return asciiCodes[c];
+        }
+        int index = Arrays.binarySearch(alphabet, c);
+        return index >= 0 ? index + 1 : 0;
+    }
+
+    private int child(int state, char c) {
+        int code = codeOf(Character.toLowerCase(c));
+        if (code == 0) {
+            return -1;
+        }
+        int next = base[state] + code;
+        return next < capacity && check[next] == state && next != ROOT ? next : -1;
+    }
+
+    private int walk(CharSequence key) {
+        int state = ROOT;
+        for (int i = 0; i < key.length() && state >= 0; i++) {
+            state = child(state, key.charAt(i));
+        }
+        return state;
+    }
+
+    public int get(CharSequence key) {
+        int state = walk(key);
+        if (state < 0 || value[state] == NO_VALUE) {
+            return NO_VALUE;
+        }
+        int encoded = value[state];
+        if (encoded >= 0) {
+            return encoded;
+        }
+        int offset = -2 - encoded;
+        return postings[offset + postings[offset]];
+    }
+
+    public int getAll(CharSequence key, IntConsumer sink) {
+        int state = walk(key);
+        if (state < 0 || value[state] == NO_VALUE) {
+            return 0;
+        }
+        int encoded = value[state];
+        emit(encoded, id -> {
+            sink.accept(id);
+            return true;
+        });
+        return encoded >= 0 ? 1 : postings[-2 - encoded];
+    }
+
+    public boolean containsPrefix(CharSequence prefix) {
+        return walk(prefix) >= 0;
+    }
+
+    public int complete(CharSequence prefix, int limit, IntConsumer sink) {
+        if (limit <= 0) {
+            return 0;
+        }
+        int[] found = { 0 };
+        complete(prefix, id -> {
+            sink.accept(id);
+            return ++found[0] < limit;
+        });
+        return found[0];
+    }
+
+    public void complete(CharSequence prefix, IntPredicate sink) {
+        int start = walk(prefix);
+        if (start < 0) {
+            return;
+        }
+
+        int state = start;
+        int code = 0;
+        while (true) {
+            if (code == 0) {
+                if (value[state] != NO_VALUE && !emit(value[state], sink)) {
+                    return;
+                }
+                code = 1;
+            }
+
+            int childState = childFrom(state, code);
+            if (childState >= 0) {
+                state = childState;
+                code = 0;
+            } else if (state == start) {
+                return;
+            } else {
+                int parent = check[state];
+                code = state - base[parent] + 1;
+                state = parent;
+            }
+        }
+    }
+
+    private int childFrom(int state, int code) {
+        int b = base[state];
+        for (; code <= alphabet.length; code++) {
+            int candidate = b + code;
+            if (candidate < capacity && check[candidate] == state && candidate != ROOT) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getArrayLength() {
+        return capacity;
+    }
+}
@@ -0,0 +1,73 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+
+public class ExactMatchIndex {
+    private static final int EMPTY = 0;
+
+    private final String[] keys;
+    private final int[] slots;
+    private final int[] hashes;
+    private final int mask;
+    private int size;
+
+    public ExactMatchIndex(String[] keys) {
+        this.keys = keys;
+        int capacity = Integer.highestOneBit(Math.max(4, keys.length * 2 - 1)) << 1;
+        this.slots = new int[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int id = 0; id < keys.length; id++) {
+            insertIfAbsent(id);
+        }
+    }
+
+    private void insertIfAbsent(int id) {
+        String key = keys[id];
+        int hash = hash(key);
+        int slot = hash & mask;
+        while (slots[slot] != EMPTY) {
+            if (hashes[slot] == hash && keys[slots[slot] - 1].equals(key)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    public int get(CharSequence key) {
+        int hash = hash(key);
+        int slot = hash & mask;
+        while (slots[slot] != EMPTY) {
+            if (hashes[slot] == hash && equalsFolded(keys[slots[slot] - 1], key)) {
+                return slots[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    static int hash(CharSequence key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            h = 31 * h + Character.toLowerCase(key.charAt(i));
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static boolean equalsFolded(String folded, CharSequence key) {
+        return folded.length() == key.length() && KeyNormalizer.startsWith(folded, key);
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,194 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class EytzingerIndex implements WordIndex {
+    private final String[] keys;
+    private final Word[] words;
+    private final Word[][] earlier;
+    private final int size;
+    private int fillPosition;
+
+    private EytzingerIndex(String[] sortedKeys, Word[] sortedWords, Word[][] sortedEarlier, int size) {
+        this.size = size;
+        this.keys = new String[size + 1];
+        this.words = new Word[size + 1];
+        this.earlier = sortedEarlier != null ? new Word[size + 1][] : null;
+        this.fillPosition = 0;
+        fill(1, sortedKeys, sortedWords, sortedEarlier);
+    }
+
+    public static EytzingerIndex fromSorted(String[] sortedKeys, Word[] sortedWords, int count) {
+        String[] keys = new String[count];
+        Word[] words = new Word[count];
+        Word[][] earlier = null;
+        int size = 0;
+        int i = 0;
+        while (i < count) {
+            if (i > 0 && sortedKeys[i - 1].compareTo(sortedKeys[i]) > 0) {
+                throw new IllegalArgumentException("Keys are not sorted at index " + i + ": " + sortedKeys[i]);
+            }
+            int end = i + 1;
+            while (end < count && sortedKeys[end].equals(sortedKeys[i])) {
+                end++;
+            }
+            keys[size] = sortedKeys[i];
+            words[size] = sortedWords[end - 1];
+            if (end - i > 1) {
+                if (earlier == null) {
+                    earlier = new Word[count][];
+                }
+                earlier[size] = Arrays.copyOfRange(sortedWords, i, end - 1);
+            }
+            size++;
+            i = end;
+        }
+        return new EytzingerIndex(keys, words, earlier, size);
+    }
+
+    private void fill(int k, String[] sortedKeys, Word[] sortedWords, Word[][] sortedEarlier) {
+        if (k > size) {
+            return;
+        }
+        fill(2 * k, sortedKeys, sortedWords, sortedEarlier);
+        keys[k] = sortedKeys[fillPosition];
+        words[k] = sortedWords[fillPosition];
+        if (earlier != null) {
+            earlier[k] = sortedEarlier[fillPosition];
+        }
+        fillPosition++;
+        fill(2 * k + 1, sortedKeys, sortedWords, sortedEarlier);
+    }
+
+    private int lowerBound(CharSequence key) {
+        int k = 1;
+        while (k <= size) {
+            k = 2 * k + (KeyNormalizer.compare(key, keys[k]) > 0 ? 1 : 0);
+        }
+        return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    private int find(CharSequence key) {
+        int k = lowerBound(key);
+        return k != 0 && KeyNormalizer.compare(key, keys[k]) == 0 ? k : 0;
+    }
+
+    private int first() {
+        if (size == 0) {
+            return 0;
+        }
+        int k = 1;
+        while (2 * k <= size) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    private int next(int k) {
+        if (2 * k + 1 <= size) {
+            k = 2 * k + 1;
+            while (2 * k <= size) {
+                k = 2 * k;
+            }
+            return k;
+        }
+        while ((k & 1) == 1) {
+            k >>= 1;
+        }
+        return k >> 1;
+    }
+
+    private void collectWords(int k, List<Word> out) {
+        if (earlier != null && earlier[k] != null) {
+            for (Word word : earlier[k]) {
+                out.add(word);
+            }
+        }
+        out.add(words[k]);
+    }
+
+    @Override
+    public Word search(CharSequence key) {
+        int k = find(key);
+        return k != 0 ? words[k] : null;
+    }
+
+    @Override
+    public List<Word> searchAll(CharSequence key) {
+        int k = find(key);
+        if (k == 0) {
+            return Collections.emptyList();
+        }
+        List<Word> result = new ArrayList<>(2);
+        collectWords(k, result);
+        return result;
+    }
+
+    public boolean contains(CharSequence key) {
+        return find(key) != 0;
+    }
+
+    public boolean containsWord(CharSequence key, Word word) {
+        int k = find(key);
+        if (k == 0) {
+            return false;
+        }
+        if (words[k] == word) {
+            return true;
+        }
+        if (earlier != null && earlier[k] != null) {
+            for (Word candidate : earlier[k]) {
+                if (candidate == word) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Word> getRecommendations(CharSequence prefix, int limit) {
+        List<Word> recommendations = new ArrayList<>();
+        int k = lowerBound(prefix);
+        while (k != 0 && recommendations.size() < limit && KeyNormalizer.startsWith(keys[k], prefix)) {
+            collectWords(k, recommendations);
+            k = next(k);
+        }
+        if (recommendations.size() > limit) {
+            recommendations.subList(limit, recommendations.size()).clear();
+        }
+        return recommendations;
+    }
+
+    @Override
+    public List<Word> getAllWordsInOrder() {
+        List<Word> result = new ArrayList<>(size);
+        for (int k = first(); k != 0; k = next(k)) {
+            collectWords(k, result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getAllKeysInOrder() {
+        List<String> result = new ArrayList<>(size);
+        for (int k = first(); k != 0; k = next(k)) {
+            result.add(keys[k]);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
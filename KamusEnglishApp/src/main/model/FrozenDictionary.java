@@ -0,0 +1,369 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+final class FrozenDictionary {
+    private final Word[] words;
+    private final int[][] orders;
+    private final DictionarySnapshot snapshot;
+    private final int size;
+    private final long fingerprint;
+    private final Path perfectPath;
+    private final Side english;
+    private final Side indonesian;
+    private volatile PerfectHashIndex perfectIndex;
+    private volatile boolean perfectUnavailable;
+
+    FrozenDictionary(Word[] words, int[][] orders, long fingerprint, Path perfectPath) {
+        this(words, orders, null, words.length, fingerprint, perfectPath);
+    }
+
+    FrozenDictionary(DictionarySnapshot snapshot, long fingerprint, Path perfectPath) {
+        this(null, null, snapshot, snapshot.size(), fingerprint, perfectPath);
+    }
+
+    private FrozenDictionary(Word[] words, int[][] orders, DictionarySnapshot snapshot, int size,
+                             long fingerprint, Path perfectPath) {
+        this.words = words;
+        this.orders = orders;
+        this.snapshot = snapshot;
+        this.size = size;
+        this.fingerprint = fingerprint;
+        this.perfectPath = perfectPath;
+        this.english = new Side(this, true);
+        this.indonesian = new Side(this, false);
+    }
+
+    static final class Side {
+        private final FrozenDictionary dictionary;
+        private final boolean english;
+        private volatile Sorted sorted;
+        private volatile DoubleArrayTrie trie;
+        private volatile EytzingerIndex ordered;
+        private volatile FstIndex keys;
+        private final ThreadLocal<Completion> completions = ThreadLocal.withInitial(Completion::new);
+
+        Side(FrozenDictionary dictionary, boolean english) {
+            this.dictionary = dictionary;
+            this.english = english;
+        }
+
+        List<Word> lookup(CharSequence key) {
+            PerfectHashIndex perfect = dictionary.perfectIndex();
+            if (perfect == null) {
+                return lookupWithoutPerfectHash(key);
+            }
+            return english ? perfect.lookupEnglish(key) : perfect.lookupIndonesian(key);
+        }
+
+        Word find(CharSequence key) {
+            PerfectHashIndex perfect = dictionary.perfectIndex();
+            if (perfect == null) {
+                List<Word> matches = lookupWithoutPerfectHash(key);
+                return matches.isEmpty() ? null : matches.get(0);
+            }
+            return english ? perfect.findEnglish(key) : perfect.findIndonesian(key);
+        }
+
+        private List<Word> lookupWithoutPerfectHash(CharSequence key) {
+            DictionarySnapshot snapshot = dictionary.snapshot;
+            if (snapshot != null) {
+                return english ? snapshot.lookupEnglish(key) : snapshot.lookupIndonesian(key);
+            }
+            return keys().searchAll(key);
+        }
+
+        String[] sortedKeys() {
+            return sorted().keys;
+        }
+
+        PersistentRedBlackTree tree(int shard) {
+            Sorted sorted = sorted();
+            int from = sorted.shardStarts[shard];
+            int to = sorted.shardStarts[shard + 1];
+            Word[] shardWords = new Word[to - from];
+            for (int i = from; i < to; i++) {
+                shardWords[i - from] = dictionary.word(sorted.ids[i]);
+            }
+            return PersistentRedBlackTree.fromSorted(Arrays.copyOfRange(sorted.keys, from, to), shardWords,
+                                                     to - from);
+        }
+
+        private Sorted sorted() {
+            Sorted built = sorted;
+            if (built == null) {
+                synchronized (this) {
+                    if (sorted == null) {
+                        int[] ids = new int[dictionary.size];
+                        sorted = new Sorted(dictionary.sortedKeys(english, ids), ids);
+                    }
+                    built = sorted;
+                }
+            }
+            return built;
+        }
+
+        int complete(CharSequence prefix, int limit, ArrayRedBlackTree edited, Consumer<? super Word> sink) {
+            if (limit <= 0) {
+                return 0;
+            }
+            Completion completion = completion(prefix, limit, edited, sink);
+            try {
+                trie().complete(prefix, completion);
+                return completion.finish();
+            } finally {
+                completion.release();
+            }
+        }
+
+        int suggest(CharSequence prefix, int limit, ArrayRedBlackTree edited, Consumer<? super Word> sink) {
+            if (limit <= 0) {
+                return 0;
+            }
+            Completion completion = completion(prefix, limit, edited, sink);
+            try {
+                keys().forEachWithPrefix(prefix, completion);
+                return completion.finish();
+            } finally {
+                completion.release();
+            }
+        }
+
+        private Completion completion(CharSequence prefix, int limit, ArrayRedBlackTree edited,
+                                      Consumer<? super Word> sink) {
+            Completion completion = completions.get();
+            if (completion.sink != null) {
+                completion = new Completion();
+            }
+            completion.reset(prefix, limit, edited, sink);
+            return completion;
+        }
+
+        FstIndex keys() {
+            FstIndex built = keys;
+            if (built == null) {
+                synchronized (this) {
+                    if (keys == null) {
+                        Sorted sorted = sorted();
+                        keys = FstIndex.fromSorted(sorted.keys, sorted.ids, dictionary::word, sorted.ids.length);
+                    }
+                    built = keys;
+                }
+            }
+            return built;
+        }
+
+        EytzingerIndex ordered() {
+            EytzingerIndex built = ordered;
+            if (built == null) {
+                synchronized (this) {
+                    if (ordered == null) {
+                        Sorted sorted = sorted();
+                        Word[] sortedWords = new Word[sorted.ids.length];
+                        for (int i = 0; i < sortedWords.length; i++) {
+                            sortedWords[i] = dictionary.word(sorted.ids[i]);
+                        }
+                        ordered = EytzingerIndex.fromSorted(sorted.keys, sortedWords, sortedWords.length);
+                    }
+                    built = ordered;
+                }
+            }
+            return built;
+        }
+
+        private DoubleArrayTrie trie() {
+            DoubleArrayTrie built = trie;
+            if (built == null) {
+                synchronized (this) {
+                    if (trie == null) {
+                        Sorted sorted = sorted();
+                        trie = DoubleArrayTrie.fromSorted(sorted.keys, sorted.ids, sorted.ids.length);
+                    }
+                    built = trie;
+                }
+            }
+            return built;
+        }
+
+        private final class Completion implements IntPredicate {
+            private CharSequence prefix;
+            private int limit;
+            private ArrayRedBlackTree edited;
+            private Consumer<? super Word> sink;
+            private int node;
+            private int emitted;
+
+            void reset(CharSequence prefix, int limit, ArrayRedBlackTree edited, Consumer<? super Word> sink) {
+                this.prefix = prefix;
+                this.limit = limit;
+                this.edited = edited;
+                this.sink = sink;
+                this.node = edited.ceilingNode(prefix);
+                this.emitted = 0;
+            }
+
+            void release() {
+                prefix = null;
+                edited = null;
+                sink = null;
+            }
+
+            @Override
+            public boolean test(int id) {
+                Word word = dictionary.word(id);
+                if (flushBefore(english ? word.getEnglish() : word.getIndonesian()) != 0 && emitted < limit) {
+                    sink.accept(word);
+                    emitted++;
+                }
+                return emitted < limit;
+            }
+
+            private int flushBefore(String key) {
+                while (node != 0 && emitted < limit && KeyNormalizer.startsWith(edited.keyAt(node), prefix)) {
+                    int cmp = KeyNormalizer.compare(key, edited.keyAt(node));
+                    if (cmp <= 0) {
+                        return cmp;
+                    }
+                    addEdited();
+                }
+                return 1;
+            }
+
+            int finish() {
+                while (node != 0 && emitted < limit && KeyNormalizer.startsWith(edited.keyAt(node), prefix)) {
+                    addEdited();
+                }
+                return emitted;
+            }
+
+            private void addEdited() {
+                for (int i = 0; i < edited.wordCountAt(node) && emitted < limit; i++) {
+                    sink.accept(edited.wordAt(node, i));
+                    emitted++;
+                }
+                node = edited.successor(node);
+            }
+        }
+    }
+
+    private static final class Sorted {
+        final String[] keys;
+        final int[] ids;
+        final int[] shardStarts;
+
+        Sorted(String[] keys, int[] ids) {
+            this.keys = keys;
+            this.ids = ids;
+            this.shardStarts = new int[ShardedIndex.SHARD_COUNT + 1];
+            int shard = 0;
+            for (int i = 0; i < keys.length; i++) {
+                int of = ShardedIndex.shardOf(keys[i]);
+                while (shard <= of) {
+                    shardStarts[shard++] = i;
+                }
+            }
+            while (shard <= ShardedIndex.SHARD_COUNT) {
+                shardStarts[shard++] = keys.length;
+            }
+        }
+    }
+
+    Side english() {
+        return english;
+    }
+
+    Side indonesian() {
+        return indonesian;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Word word(int id) {
+        return words != null ? words[id] : snapshot.word(id);
+    }
+
+    private String[] sortedKeys(boolean english, int[] ids) {
+        if (snapshot != null) {
+            return snapshot.readSortedKeys(english, ids);
+        }
+        if (orders != null) {
+            int[] order = orders[english ? 0 : 1];
+            String[] sortedKeys = new String[words.length];
+            for (int i = 0; i < words.length; i++) {
+                Word word = words[order[i]];
+                sortedKeys[i] = KeyNormalizer.fold(english ? word.getEnglish() : word.getIndonesian());
+                ids[i] = order[i];
+            }
+            return sortedKeys;
+        }
+        String[] keys = new String[words.length];
+        Integer[] order = new Integer[words.length];
+        for (int i = 0; i < words.length; i++) {
+            keys[i] = KeyNormalizer.fold(english ? words[i].getEnglish() : words[i].getIndonesian());
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+        String[] sortedKeys = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            sortedKeys[i] = keys[order[i]];
+            ids[i] = order[i];
+        }
+        return sortedKeys;
+    }
+
+    PerfectHashIndex perfectIndex() {
+        PerfectHashIndex index = perfectIndex;
+        if (index != null || perfectUnavailable) {
+            return index;
+        }
+        synchronized (this) {
+            if (perfectIndex == null && !perfectUnavailable) {
+                perfectIndex = openPerfectIndex();
+                perfectUnavailable = perfectIndex == null;
+            }
+            return perfectIndex;
+        }
+    }
+
+    private String[] keysById(Side side) {
+        Sorted sorted = side.sorted();
+        String[] keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[sorted.ids[i]] = sorted.keys[i];
+        }
+        return keys;
+    }
+
+    private PerfectHashIndex openPerfectIndex() {
+        if (perfectPath != null) {
+            PerfectHashIndex index = PerfectHashIndex.openIfValid(perfectPath, fingerprint, size, this::word);
+            if (index != null) {
+                return index;
+            }
+        }
+        PerfectHashIndex index;
+        try {
+            index = PerfectHashIndex.build(keysById(english), keysById(indonesian), this::word);
+        } catch (IllegalStateException e) {
+            e.printStackTrace();
+            return null;
+        }
+        if (perfectPath != null && Files.isDirectory(perfectPath.toAbsolutePath().getParent())) {
+            try {
+                index.write(perfectPath, fingerprint);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return index;
+    }
+}
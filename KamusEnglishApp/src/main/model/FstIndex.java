@@ -0,0 +1,433 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+public class FstIndex implements WordIndex {
+    private final int[] arcStarts;
+    private final boolean[] accepting;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] outputs;
+    private final int[] postingStarts;
+    private final int[] ids;
+    private final IntFunction<Word> wordTable;
+    private final int keyCount;
+    private final PostingList[] views;
+
+    private FstIndex(int[] arcStarts, boolean[] accepting, char[] labels, int[] targets, int[] outputs,
+                     int[] postingStarts, int[] ids, IntFunction<Word> wordTable, int keyCount) {
+        this.arcStarts = arcStarts;
+        this.accepting = accepting;
+        this.labels = labels;
+        this.targets = targets;
+        this.outputs = outputs;
+        this.postingStarts = postingStarts;
+        this.ids = ids;
+        this.wordTable = wordTable;
+        this.keyCount = keyCount;
+        this.views = new PostingList[keyCount];
+    }
+
+    private static final class State {
+        char[] labels = new char[2];
+        State[] targets = new State[2];
+        int arcCount;
+        boolean accepting;
+        int hash;
+
+        void addArc(char label, State target) {
+            if (arcCount == labels.length) {
+                labels = Arrays.copyOf(labels, arcCount * 2);
+                targets = Arrays.copyOf(targets, arcCount * 2);
+            }
+            labels[arcCount] = label;
+            targets[arcCount] = target;
+            arcCount++;
+        }
+
+        void freezeHash() {
+            int h = accepting ? 1 : 0;
+            for (int i = 0; i < arcCount; i++) {
+                h = 31 * h + labels[i];
+                h = 31 * h + System.identityHashCode(targets[i]);
+            }
+            hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State other = (State) o;
+            if (accepting != other.accepting || arcCount != other.arcCount) {
+                return false;
+            }
+            for (int i = 0; i < arcCount; i++) {
+                if (labels[i] != other.labels[i] || targets[i] != other.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static FstIndex fromSorted(String[] keys, int[] wordIds, Word[] wordTable, int count) {
+        return fromSorted(keys, wordIds, id -> wordTable[id], count);
+    }
+
+    static FstIndex fromSorted(String[] keys, int[] wordIds, IntFunction<Word> wordTable, int count) {
+        Map<State, State> register = new HashMap<>();
+        List<State> path = new ArrayList<>();
+        path.add(new State());
+
+        int[] postingStarts = new int[count + 1];
+        int keyCount = 0;
+        String previous = null;
+
+        for (int i = 0; i < count; i++) {
+            String key = keys[i];
+            if (previous != null) {
+                int order = key.compareTo(previous);
+                if (order < 0) {
+                    throw new IllegalArgumentException("Keys must be sorted: " + previous + " > " + key);
+                }
+                if (order == 0) {
+                    continue;
+                }
+            }
+
+            int common = 0;
+            if (previous != null) {
+                int limit = Math.min(previous.length(), key.length());
+                while (common < limit && previous.charAt(common) == key.charAt(common)) {
+                    common++;
+                }
+            }
+            replaceOrRegister(path, common, register);
+
+            State state = path.get(common);
+            for (int j = common; j < key.length(); j++) {
+                State next = new State();
+                state.addArc(key.charAt(j), next);
+                path.add(next);
+                state = next;
+            }
+            state.accepting = true;
+            postingStarts[keyCount++] = i;
+            previous = key;
+        }
+        replaceOrRegister(path, 0, register);
+        postingStarts[keyCount] = count;
+
+        return freeze(path.get(0), Arrays.copyOf(postingStarts, keyCount + 1),
+                      Arrays.copyOf(wordIds, count), wordTable, keyCount);
+    }
+
+    private static void replaceOrRegister(List<State> path, int depth, Map<State, State> register) {
+        for (int i = path.size() - 1; i > depth; i--) {
+            State child = path.remove(i);
+            child.freezeHash();
+            State canonical = register.putIfAbsent(child, child);
+            if (canonical != null) {
+                State parent = path.get(i - 1);
+                parent.targets[parent.arcCount - 1] = canonical;
+            }
+        }
+    }
+
+    private static FstIndex freeze(State root, int[] postingStarts, int[] ids, IntFunction<Word> wordTable,
+                                   int keyCount) {
+        Map<State, Integer> numbers = new IdentityHashMap<>();
+        List<State> states = new ArrayList<>();
+        numbers.put(root, 0);
+        states.add(root);
+        int arcCount = 0;
+        for (int s = 0; s < states.size(); s++) {
+            State state = states.get(s);
+            arcCount += state.arcCount;
+            for (int a = 0; a < state.arcCount; a++) {
+                if (!numbers.containsKey(state.targets[a])) {
+                    numbers.put(state.targets[a], states.size());
+                    states.add(state.targets[a]);
+                }
+            }
+        }
+
+        int stateCount = states.size();
+        int[] arcStarts = new int[stateCount + 1];
+        boolean[] accepting = new boolean[stateCount];
+        char[] labels = new char[arcCount];
+        int[] targets = new int[arcCount];
+        int[] outputs = new int[arcCount];
+        int arc = 0;
+        for (int s = 0; s < stateCount; s++) {
+            State state = states.get(s);
+            arcStarts[s] = arc;
+            accepting[s] = state.accepting;
+            for (int a = 0; a < state.arcCount; a++) {
+                labels[arc] = state.labels[a];
+                targets[arc] = numbers.get(state.targets[a]);
+                arc++;
+            }
+        }
+        arcStarts[stateCount] = arc;
+
+        int[] counts = new int[stateCount];
+        Arrays.fill(counts, -1);
+        countKeys(0, arcStarts, accepting, targets, outputs, counts);
+        return new FstIndex(arcStarts, accepting, labels, targets, outputs, postingStarts, ids, wordTable, keyCount);
+    }
+
+    private static int countKeys(int state, int[] arcStarts, boolean[] accepting, int[] targets,
+                                 int[] outputs, int[] counts) {
+        if (counts[state] >= 0) {
+            return counts[state];
+        }
+        int total = accepting[state] ? 1 : 0;
+        for (int a = arcStarts[state]; a < arcStarts[state + 1]; a++) {
+            outputs[a] = total;
+            total += countKeys(targets[a], arcStarts, accepting, targets, outputs, counts);
+        }
+        counts[state] = total;
+        return total;
+    }
+
+    private int findArc(int state, char label) {
+        int lo = arcStarts[state];
+        int hi = arcStarts[state + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char midLabel = labels[mid];
+            if (midLabel < label) {
+                lo = mid + 1;
+            } else if (midLabel > label) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -lo - 1;
+    }
+
+    private int countFrom(int state) {
+        int last = arcStarts[state + 1] - 1;
+        if (last < arcStarts[state]) {
+            return accepting[state] ? 1 : 0;
+        }
+        return outputs[last] + countFrom(targets[last]);
+    }
+
+    public int ordinal(CharSequence key) {
+        int state = 0;
+        int ordinal = 0;
+        for (int i = 0; i < key.length(); i++) {
+            int arc = findArc(state, Character.toLowerCase(key.charAt(i)));
+            if (arc < 0) {
+                return -1;
+            }
+            ordinal += outputs[arc];
+            state = targets[arc];
+        }
+        return accepting[state] ? ordinal : -1;
+    }
+
+    public int rank(CharSequence key) {
+        int state = 0;
+        int rank = 0;
+        for (int i = 0; i < key.length(); i++) {
+            int arc = findArc(state, Character.toLowerCase(key.charAt(i)));
+            if (arc < 0) {
+                int insertion = -arc - 1;
+                if (insertion < arcStarts[state + 1]) {
+                    return rank + outputs[insertion];
+                }
+                return rank + countFrom(state);
+            }
+            rank += outputs[arc];
+            state = targets[arc];
+        }
+        return rank;
+    }
+
+    private long prefixRange(CharSequence prefix) {
+        int state = 0;
+        int ordinal = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            int arc = findArc(state, Character.toLowerCase(prefix.charAt(i)));
+            if (arc < 0) {
+                return (long) ordinal << 32 | ordinal;
+            }
+            ordinal += outputs[arc];
+            state = targets[arc];
+        }
+        return (long) ordinal << 32 | (ordinal + countFrom(state));
+    }
+
+    public String keyAt(int ordinal) {
+        if (ordinal < 0 || ordinal >= keyCount) {
+            throw new IndexOutOfBoundsException("ordinal " + ordinal + " of " + keyCount);
+        }
+        StringBuilder key = new StringBuilder();
+        int state = 0;
+        int remaining = ordinal;
+        while (!(accepting[state] && remaining == 0)) {
+            int lo = arcStarts[state];
+            int hi = arcStarts[state + 1] - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (outputs[mid] <= remaining) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            key.append(labels[lo]);
+            remaining -= outputs[lo];
+            state = targets[lo];
+        }
+        return key.toString();
+    }
+
+    private void collectWords(int ordinal, List<Word> out) {
+        for (int i = postingStarts[ordinal]; i < postingStarts[ordinal + 1]; i++) {
+            out.add(wordTable.apply(ids[i]));
+        }
+    }
+
+    private void forEachOrdinal(int from, int to, Consumer<Word> sink) {
+        for (int i = postingStarts[from]; i < postingStarts[to]; i++) {
+            sink.accept(wordTable.apply(ids[i]));
+        }
+    }
+
+    public void forEachWithPrefix(CharSequence prefix, Consumer<Word> sink) {
+        long range = prefixRange(prefix);
+        forEachOrdinal((int) (range >>> 32), (int) range, sink);
+    }
+
+    public void forEachWithPrefix(CharSequence prefix, IntPredicate sink) {
+        long range = prefixRange(prefix);
+        for (int i = postingStarts[(int) (range >>> 32)]; i < postingStarts[(int) range]; i++) {
+            if (!sink.test(ids[i])) {
+                return;
+            }
+        }
+    }
+
+    public void forEachInRange(CharSequence fromInclusive, CharSequence toExclusive, Consumer<Word> sink) {
+        int from = rank(fromInclusive);
+        int to = rank(toExclusive);
+        if (from < to) {
+            forEachOrdinal(from, to, sink);
+        }
+    }
+
+    @Override
+    public Word search(CharSequence key) {
+        int ordinal = ordinal(key);
+        return ordinal >= 0 ? wordTable.apply(ids[postingStarts[ordinal + 1] - 1]) : null;
+    }
+
+    @Override
+    public List<Word> searchAll(CharSequence key) {
+        int ordinal = ordinal(key);
+        if (ordinal < 0) {
+            return Collections.emptyList();
+        }
+        PostingList view = views[ordinal];
+        if (view == null) {
+            view = new PostingList(wordTable, ids, postingStarts[ordinal], postingStarts[ordinal + 1]);
+            views[ordinal] = view;
+        }
+        return view;
+    }
+
+    public boolean contains(CharSequence key) {
+        return ordinal(key) >= 0;
+    }
+
+    public boolean containsWord(CharSequence key, Word word) {
+        int ordinal = ordinal(key);
+        if (ordinal < 0) {
+            return false;
+        }
+        for (int i = postingStarts[ordinal]; i < postingStarts[ordinal + 1]; i++) {
+            if (wordTable.apply(ids[i]) == word) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Word> getRecommendations(CharSequence prefix, int limit) {
+        List<Word> recommendations = new ArrayList<>();
+        long range = prefixRange(prefix);
+        int to = (int) range;
+        for (int ordinal = (int) (range >>> 32); ordinal < to && recommendations.size() < limit; ordinal++) {
+            collectWords(ordinal, recommendations);
+        }
+        if (recommendations.size() > limit) {
+            recommendations.subList(limit, recommendations.size()).clear();
+        }
+        return recommendations;
+    }
+
+    @Override
+    public List<Word> getAllWordsInOrder() {
+        List<Word> result = new ArrayList<>(ids.length);
+        forEachOrdinal(0, keyCount, result::add);
+        return result;
+    }
+
+    @Override
+    public List<String> getAllKeysInOrder() {
+        List<String> result = new ArrayList<>(keyCount);
+        appendKeys(0, new StringBuilder(), result);
+        return result;
+    }
+
+    private void appendKeys(int state, StringBuilder prefix, List<String> out) {
+        if (accepting[state]) {
+            out.add(prefix.toString());
+        }
+        for (int a = arcStarts[state]; a < arcStarts[state + 1]; a++) {
+            prefix.append(labels[a]);
+            appendKeys(targets[a], prefix, out);
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+
+    public int getStateCount() {
+        return accepting.length;
+    }
+
+    public int getArcCount() {
+        return labels.length;
+    }
+
+    @Override
+    public int size() {
+        return keyCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keyCount == 0;
+    }
+}
@@ -0,0 +1,43 @@
+package main.model;
+
+class LoadProgress {
+    static final String PARSE = "Parsing";
+    static final String NORMALIZE = "Normalizing";
+    static final String INDEX = "Indexing";
+
+    private final Dictionary.ProgressListener listener;
+    private int lastPercent;
+
+    LoadProgress(Dictionary.ProgressListener listener) {
+        this.listener = listener;
+        this.lastPercent = -1;
+    }
+
+    void report(String stage, long done, long total) {
+        if (listener == null) {
+            return;
+        }
+
+        int from;
+        int to;
+        switch (stage) {
+            case PARSE: from = 0; to = 60; break;
+            case NORMALIZE: from = 60; to = 70; break;
+            default: from = 70; to = 100; break;
+        }
+
+        long clamped = total <= 0 ? 0 : Math.min(done, total);
+        int percent = total <= 0 ? from : from + (int) ((to - from) * clamped / total);
+        if (percent != lastPercent) {
+            lastPercent = percent;
+            listener.onProgress(stage, percent);
+        }
+    }
+
+    void finish() {
+        if (listener != null && lastPercent != 100) {
+            lastPercent = 100;
+            listener.onProgress(INDEX, 100);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package main.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class NGramIndex {
+    private static final int N = 3;
+
+    private final String[] englishKeys;
+    private final String[] indonesianKeys;
+    private final long[] grams;
+    private final int[] offsets;
+    private final int[] postings;
+    private final int[] shortKeyIds;
+
+    public NGramIndex(String[] englishKeys, String[] indonesianKeys) {
+        this.englishKeys = englishKeys;
+        this.indonesianKeys = indonesianKeys;
+        int count = englishKeys.length;
+
+        int total = 0;
+        int shortKeys = 0;
+        int[] shortIds = new int[16];
+        for (int id = 0; id < count; id++) {
+            total += gramCount(englishKeys[id]) + gramCount(indonesianKeys[id]);
+            if (englishKeys[id].length() < N || indonesianKeys[id].length() < N) {
+                if (shortKeys == shortIds.length) {
+                    shortIds = Arrays.copyOf(shortIds, shortKeys * 2);
+                }
+                shortIds[shortKeys++] = id;
+            }
+        }
+        this.shortKeyIds = Arrays.copyOf(shortIds, shortKeys);
+
+        long[] all = new long[total];
+        int next = 0;
+        for (int id = 0; id < count; id++) {
+            next = addGrams(englishKeys[id], all, next);
+            next = addGrams(indonesianKeys[id], all, next);
+        }
+        Arrays.sort(all);
+
+        int distinct = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        this.grams = Arrays.copyOf(all, distinct);
+
+        int[] counts = new int[distinct + 1];
+        int[] lastId = new int[distinct];
+        Arrays.fill(lastId, -1);
+        for (int id = 0; id < count; id++) {
+            countGrams(englishKeys[id], id, counts, lastId);
+            countGrams(indonesianKeys[id], id, counts, lastId);
+        }
+
+        this.offsets = new int[distinct + 1];
+        for (int g = 0; g < distinct; g++) {
+            offsets[g + 1] = offsets[g] + counts[g];
+        }
+
+        this.postings = new int[offsets[distinct]];
+        int[] fill = Arrays.copyOf(offsets, distinct);
+        Arrays.fill(lastId, -1);
+        for (int id = 0; id < count; id++) {
+            fillGrams(englishKeys[id], id, fill, lastId);
+            fillGrams(indonesianKeys[id], id, fill, lastId);
+        }
+    }
+
+    private static int gramCount(String key) {
+        return Math.max(0, key.length() - N + 1);
+    }
+
+    private static long gramAt(CharSequence text, int start) {
+        long gram = 0;
+        for (int i = 0; i < N; i++) {
+            gram = (gram << 16) | Character.toLowerCase(text.charAt(start + i));
+        }
+        return gram;
+    }
+
+    private static int addGrams(String key, long[] out, int next) {
+        for (int i = 0; i + N <= key.length(); i++) {
+            out[next++] = gramAt(key, i);
+        }
+        return next;
+    }
+
+    private void countGrams(String key, int id, int[] counts, int[] lastId) {
+        for (int i = 0; i + N <= key.length(); i++) {
+            int g = Arrays.binarySearch(grams, gramAt(key, i));
+            if (lastId[g] != id) {
+                lastId[g] = id;
+                counts[g]++;
+            }
+        }
+    }
+
+    private void fillGrams(String key, int id, int[] fill, int[] lastId) {
+        for (int i = 0; i + N <= key.length(); i++) {
+            int g = Arrays.binarySearch(grams, gramAt(key, i));
+            if (lastId[g] != id) {
+                lastId[g] = id;
+                postings[fill[g]++] = id;
+            }
+        }
+    }
+
+    public int search(CharSequence keyword, IntConsumer sink) {
+        int length = keyword.length();
+        if (length == 0) {
+            for (int id = 0; id < englishKeys.length; id++) {
+                sink.accept(id);
+            }
+            return englishKeys.length;
+        }
+        if (length < N) {
+            return searchShort(keyword, sink);
+        }
+
+        int gramsInQuery = length - N + 1;
+        int[] queryGrams = new int[gramsInQuery];
+        for (int i = 0; i < gramsInQuery; i++) {
+            int g = Arrays.binarySearch(grams, gramAt(keyword, i));
+            if (g < 0) {
+                return 0;
+            }
+            queryGrams[i] = g;
+        }
+
+        int rarest = 0;
+        for (int i = 1; i < gramsInQuery; i++) {
+            if (postingSize(queryGrams[i]) < postingSize(queryGrams[rarest])) {
+                rarest = i;
+            }
+        }
+        int rarestGram = queryGrams[rarest];
+
+        int found = 0;
+        for (int p = offsets[rarestGram]; p < offsets[rarestGram + 1]; p++) {
+            int id = postings[p];
+            if (inAllPostings(queryGrams, rarestGram, id) && matches(id, keyword)) {
+                sink.accept(id);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private int postingSize(int gram) {
+        return offsets[gram + 1] - offsets[gram];
+    }
+
+    private boolean inAllPostings(int[] queryGrams, int skip, int id) {
+        for (int g : queryGrams) {
+            if (g != skip && Arrays.binarySearch(postings, offsets[g], offsets[g + 1], id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int searchShort(CharSequence keyword, IntConsumer sink) {
+        int length = keyword.length();
+        char first = Character.toLowerCase(keyword.charAt(0));
+        char second = length > 1 ? Character.toLowerCase(keyword.charAt(1)) : 0;
+
+        int[] ids = new int[16];
+        int count = 0;
+        for (int g = 0; g < grams.length; g++) {
+            if (gramContains(grams[g], first, second, length)) {
+                int size = postingSize(g);
+                if (count + size > ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(count + size, ids.length * 2));
+                }
+                System.arraycopy(postings, offsets[g], ids, count, size);
+                count += size;
+            }
+        }
+        for (int id : shortKeyIds) {
+            if (matches(id, keyword)) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = id;
+            }
+        }
+
+        Arrays.sort(ids, 0, count);
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                sink.accept(ids[i]);
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static boolean gramContains(long gram, char first, char second, int length) {
+        char a = (char) (gram >>> 32);
+        char b = (char) (gram >>> 16);
+        char c = (char) gram;
+        if (length == 1) {
+            return a == first || b == first || c == first;
+        }
+        return (a == first && b == second) || (b == first && c == second);
+    }
+
+    private boolean matches(int id, CharSequence keyword) {
+        return matches(englishKeys[id], indonesianKeys[id], keyword);
+    }
+
+    static boolean matches(String englishKey, String indonesianKey, CharSequence keyword) {
+        return containsIgnoreCase(englishKey, keyword) || containsIgnoreCase(indonesianKey, keyword);
+    }
+
+    private static boolean containsIgnoreCase(String text, CharSequence keyword) {
+        int length = keyword.length();
+        int last = text.length() - length;
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < length && text.charAt(start + i) == Character.toLowerCase(keyword.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getGramCount() {
+        return grams.length;
+    }
+}
@@ -0,0 +1,46 @@
+package main.model;
+
+public enum PartOfSpeech {
+    OTHER(""),
+    NOUN("noun"),
+    VERB("verb"),
+    ADJECTIVE("adjective"),
+    ADVERB("adverb"),
+    PREPOSITION("preposition"),
+    PRONOUN("pronoun"),
+    CONJUNCTION("conjunction"),
+    NUMBER("number"),
+    ARTICLE("article"),
+    INTERJECTION("interjection"),
+    DETERMINER("determiner"),
+    PHRASE("phrase");
+
+    private static final PartOfSpeech[] BY_CODE = values();
+
+    private final String label;
+
+    PartOfSpeech(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    public static PartOfSpeech fromCode(byte code) {
+        return BY_CODE[code];
+    }
+
+    public static PartOfSpeech fromLabel(String label) {
+        for (PartOfSpeech partOfSpeech : BY_CODE) {
+            if (partOfSpeech != OTHER && partOfSpeech.label.equals(label)) {
+                return partOfSpeech;
+            }
+        }
+        return OTHER;
+    }
+}
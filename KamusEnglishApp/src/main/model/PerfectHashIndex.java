@@ -0,0 +1,377 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class PerfectHashIndex {
+    private static final int MAGIC = 0x4B4D5048;
+    private static final int VERSION = 2;
+    private static final int KEYS_PER_BUCKET = 4;
+    private static final int MAX_SEED = 1 << 24;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final IntFunction<Word> words;
+    private final int size;
+    private final Table english;
+    private final Table indonesian;
+
+    private PerfectHashIndex(IntFunction<Word> words, int size, Table english, Table indonesian) {
+        this.words = words;
+        this.size = size;
+        this.english = english;
+        this.indonesian = indonesian;
+    }
+
+    private static final class Table {
+        final int[] displacements;
+        final int[] postingStarts;
+        final int[] ids;
+        final PostingList[] views;
+
+        Table(int[] displacements, int[] postingStarts, int[] ids) {
+            this.displacements = displacements;
+            this.postingStarts = postingStarts;
+            this.ids = ids;
+            this.views = new PostingList[postingStarts.length - 1];
+        }
+
+        int slotCount() {
+            return postingStarts.length - 1;
+        }
+
+        int slotOf(CharSequence key) {
+            int n = slotCount();
+            if (n == 0) {
+                return -1;
+            }
+            long h = hash(key);
+            return slot(h, displacements[bucket(h, displacements.length)], n);
+        }
+    }
+
+    public static PerfectHashIndex build(Word[] words) {
+        String[] englishKeys = new String[words.length];
+        String[] indonesianKeys = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            englishKeys[i] = KeyNormalizer.fold(words[i].getEnglish());
+            indonesianKeys[i] = KeyNormalizer.fold(words[i].getIndonesian());
+        }
+        return build(englishKeys, indonesianKeys, id -> words[id]);
+    }
+
+    static PerfectHashIndex build(String[] englishKeys, String[] indonesianKeys, IntFunction<Word> words) {
+        return new PerfectHashIndex(words, englishKeys.length, buildTable(englishKeys), buildTable(indonesianKeys));
+    }
+
+    public static PerfectHashIndex openIfValid(Path path, long fingerprint, Word[] words) {
+        return openIfValid(path, fingerprint, words.length, id -> words[id]);
+    }
+
+    static PerfectHashIndex openIfValid(Path path, long fingerprint, int count, IntFunction<Word> words) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != fingerprint
+                    || in.readInt() != count) {
+                return null;
+            }
+            Table english = readTable(in, count);
+            Table indonesian = readTable(in, count);
+            if (english == null || indonesian == null) {
+                return null;
+            }
+            return new PerfectHashIndex(words, count, english, indonesian);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Table readTable(DataInputStream in, int count) throws IOException {
+        int bucketCount = in.readInt();
+        int slotCount = in.readInt();
+        if (bucketCount <= 0 || slotCount < 0 || slotCount > count) {
+            return null;
+        }
+        int[] displacements = readInts(in, bucketCount);
+        int[] postingStarts = readInts(in, slotCount + 1);
+        int[] ids = readInts(in, count);
+        for (int displacement : displacements) {
+            if (displacement < -slotCount) {
+                return null;
+            }
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (postingStarts[slot] < 0 || postingStarts[slot] >= postingStarts[slot + 1]) {
+                return null;
+            }
+        }
+        if (postingStarts[0] != 0 || postingStarts[slotCount] != count) {
+            return null;
+        }
+        for (int id : ids) {
+            if (id < 0 || id >= count) {
+                return null;
+            }
+        }
+        return new Table(displacements, postingStarts, ids);
+    }
+
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    public void write(Path path, long fingerprint) throws IOException {
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(fingerprint);
+                out.writeInt(size);
+                writeTable(out, english);
+                writeTable(out, indonesian);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeTable(DataOutputStream out, Table table) throws IOException {
+        out.writeInt(table.displacements.length);
+        out.writeInt(table.slotCount());
+        for (int displacement : table.displacements) {
+            out.writeInt(displacement);
+        }
+        for (int start : table.postingStarts) {
+            out.writeInt(start);
+        }
+        for (int id : table.ids) {
+            out.writeInt(id);
+        }
+    }
+
+    public List<Word> lookupEnglish(CharSequence key) {
+        return lookup(english, key, true);
+    }
+
+    public List<Word> lookupIndonesian(CharSequence key) {
+        return lookup(indonesian, key, false);
+    }
+
+    public Word findEnglish(CharSequence key) {
+        return find(english, key, true);
+    }
+
+    public Word findIndonesian(CharSequence key) {
+        return find(indonesian, key, false);
+    }
+
+    private List<Word> lookup(Table table, CharSequence key, boolean englishKey) {
+        int slot = matchingSlot(table, key, englishKey);
+        if (slot < 0) {
+            return Collections.emptyList();
+        }
+        PostingList view = table.views[slot];
+        if (view == null) {
+            view = new PostingList(words, table.ids, table.postingStarts[slot], table.postingStarts[slot + 1]);
+            table.views[slot] = view;
+        }
+        return view;
+    }
+
+    private Word find(Table table, CharSequence key, boolean englishKey) {
+        int slot = matchingSlot(table, key, englishKey);
+        return slot >= 0 ? words.apply(table.ids[table.postingStarts[slot]]) : null;
+    }
+
+    private int matchingSlot(Table table, CharSequence key, boolean englishKey) {
+        int slot = table.slotOf(key);
+        if (slot < 0) {
+            return -1;
+        }
+        Word word = words.apply(table.ids[table.postingStarts[slot]]);
+        return equalsIgnoreCase(englishKey ? word.getEnglish() : word.getIndonesian(), key) ? slot : -1;
+    }
+
+    private static boolean equalsIgnoreCase(String candidate, CharSequence key) {
+        if (candidate.length() != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (Character.toLowerCase(candidate.charAt(i)) != Character.toLowerCase(key.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static Table buildTable(String[] keys) {
+        int total = keys.length;
+        Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+
+        int[] groupStarts = new int[total + 1];
+        int n = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || !keys[order[i]].equals(keys[order[i - 1]])) {
+                groupStarts[n++] = i;
+            }
+        }
+        groupStarts[n] = total;
+
+        long[] hashes = new long[n];
+        for (int k = 0; k < n; k++) {
+            hashes[k] = hash(keys[order[groupStarts[k]]]);
+        }
+        long[] sortedHashes = hashes.clone();
+        Arrays.sort(sortedHashes);
+        for (int k = 1; k < n; k++) {
+            if (sortedHashes[k] == sortedHashes[k - 1]) {
+                throw new IllegalStateException("64-bit hash collision between dictionary keys");
+            }
+        }
+
+        int bucketCount = Math.max(1, n / KEYS_PER_BUCKET);
+        int[] bucketStarts = new int[bucketCount + 1];
+        for (int k = 0; k < n; k++) {
+            bucketStarts[bucket(hashes[k], bucketCount) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(bucketStarts, bucketCount);
+        for (int k = 0; k < n; k++) {
+            members[fill[bucket(hashes[k], bucketCount)]++] = k;
+        }
+
+        Integer[] buckets = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            buckets[b] = b;
+        }
+        Arrays.sort(buckets, (a, b) -> (bucketStarts[b + 1] - bucketStarts[b]) - (bucketStarts[a + 1] - bucketStarts[a]));
+
+        int[] displacements = new int[bucketCount];
+        int[] slotOwner = new int[n];
+        Arrays.fill(slotOwner, -1);
+        int[] candidate = new int[n];
+        int nextFree = 0;
+
+        for (int bucket : buckets) {
+            int from = bucketStarts[bucket];
+            int size = bucketStarts[bucket + 1] - from;
+            if (size == 0) {
+                continue;
+            }
+            if (size == 1) {
+                while (slotOwner[nextFree] >= 0) {
+                    nextFree++;
+                }
+                slotOwner[nextFree] = members[from];
+                displacements[bucket] = -nextFree - 1;
+                continue;
+            }
+
+            int seed = 0;
+            while (!tryPlace(hashes, members, from, size, seed, n, slotOwner, candidate)) {
+                if (++seed == MAX_SEED) {
+                    throw new IllegalStateException("No displacement found for bucket " + bucket);
+                }
+            }
+            displacements[bucket] = seed;
+        }
+
+        int[] postingStarts = new int[n + 1];
+        int[] ids = new int[total];
+        int position = 0;
+        for (int slot = 0; slot < n; slot++) {
+            int k = slotOwner[slot];
+            postingStarts[slot] = position;
+            for (int i = groupStarts[k]; i < groupStarts[k + 1]; i++) {
+                ids[position++] = order[i];
+            }
+        }
+        postingStarts[n] = position;
+        return new Table(displacements, postingStarts, ids);
+    }
+
+    private static boolean tryPlace(long[] hashes, int[] members, int from, int size, int seed,
+                                    int n, int[] slotOwner, int[] candidate) {
+        for (int i = 0; i < size; i++) {
+            int slot = slot(hashes[members[from + i]], seed, n);
+            if (slotOwner[slot] >= 0) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (candidate[j] == slot) {
+                    return false;
+                }
+            }
+            candidate[i] = slot;
+        }
+        for (int i = 0; i < size; i++) {
+            slotOwner[candidate[i]] = members[from + i];
+        }
+        return true;
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) Long.remainderUnsigned(hash, bucketCount);
+    }
+
+    private static int slot(long hash, int displacement, int n) {
+        if (displacement < 0) {
+            return -displacement - 1;
+        }
+        return (int) Long.remainderUnsigned(mix(hash ^ ((displacement + 1) * GOLDEN)), n);
+    }
+
+    static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= Character.toLowerCase(key.charAt(i));
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
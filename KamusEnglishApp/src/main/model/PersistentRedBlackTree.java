@@ -0,0 +1,987 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class PersistentRedBlackTree implements WordIndex, Iterable<Word> {
+    private static final PersistentRedBlackTree EMPTY = new PersistentRedBlackTree(null, 0);
+    private static final int UNION = 0;
+    private static final int DIFFERENCE = 1;
+    private static final int INTERSECTION = 2;
+
+    private final Node root;
+    private final int size;
+
+    private PersistentRedBlackTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    private static final class Node {
+        final String key;
+        final Word word;
+        final Word[] earlier;
+        final Node left;
+        final Node right;
+        final boolean red;
+        final int count;
+        final int words;
+        private List<Word> postings;
+
+        Node(String key, Word word, Word[] earlier, boolean red, Node left, Node right) {
+            this.key = key;
+            this.word = word;
+            this.earlier = earlier;
+            this.red = red;
+            this.left = left;
+            this.right = right;
+            this.count = count(left) + count(right) + 1;
+            this.words = words(left) + words(right) + wordCount();
+        }
+
+        int wordCount() {
+            return earlier == null ? 1 : earlier.length + 1;
+        }
+
+        Word wordAt(int index) {
+            return earlier != null && index < earlier.length ? earlier[index] : word;
+        }
+
+        Node with(boolean red, Node left, Node right) {
+            if (red == this.red && left == this.left && right == this.right) {
+                return this;
+            }
+            return new Node(key, word, earlier, red, left, right);
+        }
+
+        Node append(Word newWord) {
+            Word[] merged = earlier == null ? new Word[1] : Arrays.copyOf(earlier, earlier.length + 1);
+            merged[merged.length - 1] = word;
+            return new Node(key, newWord, merged, red, left, right);
+        }
+
+        boolean holds(Word target) {
+            if (word == target) {
+                return true;
+            }
+            if (earlier != null) {
+                for (Word w : earlier) {
+                    if (w == target) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        Node without(Word target) {
+            if (word == target) {
+                Word[] rest = earlier.length == 1 ? null : Arrays.copyOf(earlier, earlier.length - 1);
+                return new Node(key, earlier[earlier.length - 1], rest, red, left, right);
+            }
+            Word[] rest = new Word[earlier.length - 1];
+            int next = 0;
+            for (Word w : earlier) {
+                if (w != target) {
+                    rest[next++] = w;
+                }
+            }
+            return new Node(key, word, rest.length == 0 ? null : rest, red, left, right);
+        }
+
+        Node replacing(Word target, Word replacement) {
+            if (word == target) {
+                return new Node(key, replacement, earlier, red, left, right);
+            }
+            Word[] replaced = earlier.clone();
+            for (int i = 0; i < replaced.length; i++) {
+                if (replaced[i] == target) {
+                    replaced[i] = replacement;
+                    break;
+                }
+            }
+            return new Node(key, word, replaced, red, left, right);
+        }
+
+        Node prepending(Node older) {
+            int olderCount = older.wordCount();
+            Word[] merged = new Word[olderCount + wordCount() - 1];
+            for (int i = 0; i < olderCount; i++) {
+                merged[i] = older.wordAt(i);
+            }
+            if (earlier != null) {
+                System.arraycopy(earlier, 0, merged, olderCount, earlier.length);
+            }
+            return new Node(key, word, merged, red, left, right);
+        }
+
+        void collectWords(List<Word> words) {
+            if (earlier != null) {
+                Collections.addAll(words, earlier);
+            }
+            words.add(word);
+        }
+
+        List<Word> postings() {
+            List<Word> view = postings;
+            if (view == null) {
+                if (earlier == null) {
+                    view = Collections.singletonList(word);
+                } else {
+                    Word[] all = Arrays.copyOf(earlier, earlier.length + 1);
+                    all[earlier.length] = word;
+                    view = Collections.unmodifiableList(Arrays.asList(all));
+                }
+                postings = view;
+            }
+            return view;
+        }
+    }
+
+    public static final class Split {
+        private final PersistentRedBlackTree less;
+        private final List<Word> match;
+        private final PersistentRedBlackTree greater;
+
+        Split(PersistentRedBlackTree less, List<Word> match, PersistentRedBlackTree greater) {
+            this.less = less;
+            this.match = match;
+            this.greater = greater;
+        }
+
+        public PersistentRedBlackTree getLess() {
+            return less;
+        }
+
+        public List<Word> getMatch() {
+            return match;
+        }
+
+        public PersistentRedBlackTree getGreater() {
+            return greater;
+        }
+    }
+
+    private static final class Part {
+        final Node root;
+        final int height;
+
+        Part(Node root, int height) {
+            this.root = root;
+            this.height = height;
+        }
+    }
+
+    private static final class Cut {
+        final Node left;
+        final int leftHeight;
+        final Node match;
+        final Node right;
+        final int rightHeight;
+
+        Cut(Node left, int leftHeight, Node match, Node right, int rightHeight) {
+            this.left = left;
+            this.leftHeight = leftHeight;
+            this.match = match;
+            this.right = right;
+            this.rightHeight = rightHeight;
+        }
+    }
+
+    public static PersistentRedBlackTree empty() {
+        return EMPTY;
+    }
+
+    private static PersistentRedBlackTree of(Node root) {
+        if (root == null) {
+            return EMPTY;
+        }
+        return new PersistentRedBlackTree(root.with(false, root.left, root.right), root.count);
+    }
+
+    public static PersistentRedBlackTree fromSorted(String[] keys, Word[] words, int count) {
+        String[] uniqueKeys = new String[count];
+        Word[] latest = new Word[count];
+        Word[][] earlier = new Word[count][];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            String key = KeyNormalizer.fold(keys[i]);
+            int cmp = unique > 0 ? uniqueKeys[unique - 1].compareTo(key) : -1;
+            if (cmp > 0) {
+                throw new IllegalArgumentException("Keys are not sorted at index " + i + ": " + keys[i]);
+            }
+            if (cmp == 0) {
+                Word[] previous = earlier[unique - 1];
+                Word[] merged = previous == null ? new Word[1] : Arrays.copyOf(previous, previous.length + 1);
+                merged[merged.length - 1] = latest[unique - 1];
+                earlier[unique - 1] = merged;
+                latest[unique - 1] = words[i];
+            } else {
+                uniqueKeys[unique] = key;
+                latest[unique] = words[i];
+                unique++;
+            }
+        }
+
+        if (unique == 0) {
+            return EMPTY;
+        }
+        int redLevel = 0;
+        for (int m = unique - 1; m >= 0; m = m / 2 - 1) {
+            redLevel++;
+        }
+        Node root = build(uniqueKeys, latest, earlier, 0, unique - 1, 0, redLevel);
+        return new PersistentRedBlackTree(root.with(false, root.left, root.right), unique);
+    }
+
+    private static Node build(String[] keys, Word[] words, Word[][] earlier, int lo, int hi, int level, int redLevel) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node left = build(keys, words, earlier, lo, mid - 1, level + 1, redLevel);
+        Node right = build(keys, words, earlier, mid + 1, hi, level + 1, redLevel);
+        return new Node(keys[mid], words[mid], earlier[mid], level == redLevel, left, right);
+    }
+
+    public PersistentRedBlackTree insert(String key, Word word) {
+        String foldedKey = KeyNormalizer.fold(key);
+        boolean[] added = new boolean[1];
+        Node inserted = insert(root, foldedKey, word, added);
+        return new PersistentRedBlackTree(inserted.with(false, inserted.left, inserted.right),
+                                          added[0] ? size + 1 : size);
+    }
+
+    private static Node insert(Node node, String key, Word word, boolean[] added) {
+        if (node == null) {
+            added[0] = true;
+            return new Node(key, word, null, true, null, null);
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            return balance(node, insert(node.left, key, word, added), node.right);
+        } else if (cmp > 0) {
+            return balance(node, node.left, insert(node.right, key, word, added));
+        }
+        return node.append(word);
+    }
+
+    private static Node balance(Node node, Node left, Node right) {
+        if (!node.red) {
+            if (isRed(left) && isRed(left.left)) {
+                return left.with(true, left.left.with(false, left.left.left, left.left.right),
+                                 node.with(false, left.right, right));
+            }
+            if (isRed(left) && isRed(left.right)) {
+                Node pivot = left.right;
+                return pivot.with(true, left.with(false, left.left, pivot.left),
+                                  node.with(false, pivot.right, right));
+            }
+            if (isRed(right) && isRed(right.left)) {
+                Node pivot = right.left;
+                return pivot.with(true, node.with(false, left, pivot.left),
+                                  right.with(false, pivot.right, right.right));
+            }
+            if (isRed(right) && isRed(right.right)) {
+                return right.with(true, node.with(false, left, right.left),
+                                  right.right.with(false, right.right.left, right.right.right));
+            }
+        }
+        return node.with(node.red, left, right);
+    }
+
+    public PersistentRedBlackTree remove(CharSequence key, Word word) {
+        Node node = find(key);
+        if (node == null || !node.holds(word)) {
+            return this;
+        }
+        if (node.earlier != null) {
+            return new PersistentRedBlackTree(update(root, node.without(word)), size);
+        }
+        Node deleted = delete(root, node.key);
+        return new PersistentRedBlackTree(deleted == null ? null : deleted.with(false, deleted.left, deleted.right),
+                                          size - 1);
+    }
+
+    public PersistentRedBlackTree replace(CharSequence key, Word word, Word replacement) {
+        Node node = find(key);
+        if (node == null || !node.holds(word)) {
+            return this;
+        }
+        return new PersistentRedBlackTree(update(root, node.replacing(word, replacement)), size);
+    }
+
+    private static Node update(Node node, Node replacement) {
+        int cmp = replacement.key.compareTo(node.key);
+        if (cmp < 0) {
+            return node.with(node.red, update(node.left, replacement), node.right);
+        } else if (cmp > 0) {
+            return node.with(node.red, node.left, update(node.right, replacement));
+        }
+        return replacement;
+    }
+
+    private static Node delete(Node node, String key) {
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            Node left = delete(node.left, key);
+            return isBlack(node.left) ? balanceLeft(node, left, node.right) : node.with(true, left, node.right);
+        } else if (cmp > 0) {
+            Node right = delete(node.right, key);
+            return isBlack(node.right) ? balanceRight(node, node.left, right) : node.with(true, node.left, right);
+        }
+        return fuse(node.left, node.right);
+    }
+
+    private static Node balanceLeft(Node node, Node left, Node right) {
+        if (isRed(left)) {
+            return node.with(true, left.with(false, left.left, left.right), right);
+        }
+        if (isBlack(right)) {
+            return rebalance(node, left, right.with(true, right.left, right.right));
+        }
+        Node pivot = right.left;
+        return pivot.with(true, node.with(false, left, pivot.left),
+                          rebalance(right, pivot.right, redden(right.right)));
+    }
+
+    private static Node balanceRight(Node node, Node left, Node right) {
+        if (isRed(right)) {
+            return node.with(true, left, right.with(false, right.left, right.right));
+        }
+        if (isBlack(left)) {
+            return rebalance(node, left.with(true, left.left, left.right), right);
+        }
+        Node pivot = left.right;
+        return pivot.with(true, rebalance(left, redden(left.left), pivot.left),
+                          node.with(false, pivot.right, right));
+    }
+
+    private static Node fuse(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.red && right.red) {
+            Node middle = fuse(left.right, right.left);
+            if (isRed(middle)) {
+                return middle.with(true, left.with(true, left.left, middle.left),
+                                   right.with(true, middle.right, right.right));
+            }
+            return left.with(true, left.left, right.with(true, middle, right.right));
+        }
+        if (!left.red && !right.red) {
+            Node middle = fuse(left.right, right.left);
+            if (isRed(middle)) {
+                return middle.with(true, left.with(false, left.left, middle.left),
+                                   right.with(false, middle.right, right.right));
+            }
+            return balanceLeft(left, left.left, right.with(false, middle, right.right));
+        }
+        if (right.red) {
+            return right.with(true, fuse(left, right.left), right.right);
+        }
+        return left.with(true, left.left, fuse(left.right, right));
+    }
+
+    private static Node rebalance(Node node, Node left, Node right) {
+        if (isRed(left)) {
+            if (isRed(right)) {
+                return node.with(true, left.with(false, left.left, left.right),
+                                 right.with(false, right.left, right.right));
+            }
+            if (isRed(left.left)) {
+                return left.with(true, left.left.with(false, left.left.left, left.left.right),
+                                 node.with(false, left.right, right));
+            }
+            if (isRed(left.right)) {
+                Node pivot = left.right;
+                return pivot.with(true, left.with(false, left.left, pivot.left),
+                                  node.with(false, pivot.right, right));
+            }
+        } else if (isRed(right)) {
+            if (isRed(right.right)) {
+                return right.with(true, node.with(false, left, right.left),
+                                  right.right.with(false, right.right.left, right.right.right));
+            }
+            if (isRed(right.left)) {
+                Node pivot = right.left;
+                return pivot.with(true, node.with(false, left, pivot.left),
+                                  right.with(false, pivot.right, right.right));
+            }
+        }
+        return node.with(false, left, right);
+    }
+
+    private static Node redden(Node node) {
+        if (!isBlack(node)) {
+            throw new IllegalStateException("Red-black invariant violated during deletion");
+        }
+        return node.with(true, node.left, node.right);
+    }
+
+    public static PersistentRedBlackTree join(PersistentRedBlackTree less, PersistentRedBlackTree greater) {
+        if (less.root != null && greater.root != null
+                && last(less.root).key.compareTo(first(greater.root).key) >= 0) {
+            throw new IllegalArgumentException("Every key of the first tree must precede the second tree");
+        }
+        return of(join2(less.root, blackHeight(less.root), greater.root, blackHeight(greater.root)).root);
+    }
+
+    public Split split(CharSequence key) {
+        Cut cut = cut(root, blackHeight(root), key);
+        List<Word> match = Collections.emptyList();
+        if (cut.match != null) {
+            match = new ArrayList<>(cut.match.wordCount());
+            cut.match.collectWords(match);
+        }
+        return new Split(of(cut.left), match, of(cut.right));
+    }
+
+    public PersistentRedBlackTree union(PersistentRedBlackTree other) {
+        return combine(UNION, other);
+    }
+
+    public PersistentRedBlackTree difference(PersistentRedBlackTree other) {
+        return combine(DIFFERENCE, other);
+    }
+
+    public PersistentRedBlackTree intersection(PersistentRedBlackTree other) {
+        return combine(INTERSECTION, other);
+    }
+
+    private PersistentRedBlackTree combine(int operation, PersistentRedBlackTree other) {
+        return of(combine(operation, root, blackHeight(root), other.root, blackHeight(other.root)).root);
+    }
+
+    private static Part combine(int operation, Node first, int firstHeight, Node second, int secondHeight) {
+        if (first == null) {
+            return operation == UNION ? new Part(second, secondHeight) : new Part(null, 0);
+        }
+        if (second == null) {
+            return operation == INTERSECTION ? new Part(null, 0) : new Part(first, firstHeight);
+        }
+        if (first == second && operation != UNION) {
+            return operation == INTERSECTION ? new Part(first, firstHeight) : new Part(null, 0);
+        }
+
+        int childHeight = secondHeight - (second.red ? 0 : 1);
+        Cut cut = cut(first, firstHeight, second.key);
+        Part left = combine(operation, cut.left, cut.leftHeight, second.left, childHeight);
+        Part right = combine(operation, cut.right, cut.rightHeight, second.right, childHeight);
+
+        if (operation == UNION) {
+            Node middle = cut.match != null ? second.prepending(cut.match) : second;
+            return join(left.root, left.height, middle, right.root, right.height);
+        }
+        if (operation == INTERSECTION && cut.match != null) {
+            return join(left.root, left.height, cut.match, right.root, right.height);
+        }
+        return join2(left.root, left.height, right.root, right.height);
+    }
+
+    private static int blackHeight(Node node) {
+        int height = 0;
+        for (; node != null; node = node.left) {
+            if (!node.red) {
+                height++;
+            }
+        }
+        return height;
+    }
+
+    private static Node first(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private static Node last(Node node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    private static Part join(Node left, int leftHeight, Node middle, Node right, int rightHeight) {
+        if (isRed(left)) {
+            left = left.with(false, left.left, left.right);
+            leftHeight++;
+        }
+        if (isRed(right)) {
+            right = right.with(false, right.left, right.right);
+            rightHeight++;
+        }
+
+        Node joined;
+        int height;
+        if (leftHeight > rightHeight) {
+            joined = joinRight(left, leftHeight, middle, right, rightHeight);
+            height = leftHeight;
+        } else if (rightHeight > leftHeight) {
+            joined = joinLeft(left, leftHeight, middle, right, rightHeight);
+            height = rightHeight;
+        } else {
+            joined = middle.with(true, left, right);
+            height = leftHeight;
+        }
+
+        if (joined.red && (isRed(joined.left) || isRed(joined.right))) {
+            joined = joined.with(false, joined.left, joined.right);
+            height++;
+        }
+        return new Part(joined, height);
+    }
+
+    private static Node joinRight(Node left, int leftHeight, Node middle, Node right, int rightHeight) {
+        if (!isRed(left) && leftHeight == rightHeight) {
+            return middle.with(true, left, right);
+        }
+
+        Node joined = joinRight(left.right, leftHeight - (left.red ? 0 : 1), middle, right, rightHeight);
+        if (!left.red && joined.red && isRed(joined.right)) {
+            return joined.with(true, left.with(false, left.left, joined.left),
+                               joined.right.with(false, joined.right.left, joined.right.right));
+        }
+        return left.with(left.red, left.left, joined);
+    }
+
+    private static Node joinLeft(Node left, int leftHeight, Node middle, Node right, int rightHeight) {
+        if (!isRed(right) && leftHeight == rightHeight) {
+            return middle.with(true, left, right);
+        }
+
+        Node joined = joinLeft(left, leftHeight, middle, right.left, rightHeight - (right.red ? 0 : 1));
+        if (!right.red && joined.red && isRed(joined.left)) {
+            return joined.with(true, joined.left.with(false, joined.left.left, joined.left.right),
+                               right.with(false, joined.right, right.right));
+        }
+        return right.with(right.red, joined, right.right);
+    }
+
+    private static Part join2(Node left, int leftHeight, Node right, int rightHeight) {
+        if (left == null) {
+            return new Part(right, rightHeight);
+        }
+        if (right == null) {
+            return new Part(left, leftHeight);
+        }
+        Cut last = cutLast(left, leftHeight);
+        return join(last.left, last.leftHeight, last.match, right, rightHeight);
+    }
+
+    private static Cut cutLast(Node node, int height) {
+        int childHeight = height - (node.red ? 0 : 1);
+        if (node.right == null) {
+            return new Cut(node.left, childHeight, node, null, 0);
+        }
+        Cut last = cutLast(node.right, childHeight);
+        Part rest = join(node.left, childHeight, node, last.left, last.leftHeight);
+        return new Cut(rest.root, rest.height, last.match, null, 0);
+    }
+
+    private static Cut cut(Node node, int height, CharSequence key) {
+        if (node == null) {
+            return new Cut(null, 0, null, null, 0);
+        }
+        int childHeight = height - (node.red ? 0 : 1);
+        int cmp = KeyNormalizer.compare(key, node.key);
+        if (cmp == 0) {
+            return new Cut(node.left, childHeight, node, node.right, childHeight);
+        }
+        if (cmp < 0) {
+            Cut below = cut(node.left, childHeight, key);
+            Part rest = join(below.right, below.rightHeight, node, node.right, childHeight);
+            return new Cut(below.left, below.leftHeight, below.match, rest.root, rest.height);
+        }
+        Cut below = cut(node.right, childHeight, key);
+        Part rest = join(node.left, childHeight, node, below.left, below.leftHeight);
+        return new Cut(rest.root, rest.height, below.match, below.right, below.rightHeight);
+    }
+
+    private static boolean isRed(Node node) {
+        return node != null && node.red;
+    }
+
+    private static boolean isBlack(Node node) {
+        return node != null && !node.red;
+    }
+
+    private static int count(Node node) {
+        return node != null ? node.count : 0;
+    }
+
+    private static int words(Node node) {
+        return node != null ? node.words : 0;
+    }
+
+    private Node find(CharSequence key) {
+        Node current = root;
+        while (current != null) {
+            int cmp = KeyNormalizer.compare(key, current.key);
+            if (cmp == 0) {
+                return current;
+            }
+            current = cmp < 0 ? current.left : current.right;
+        }
+        return null;
+    }
+
+    @Override
+    public Word search(CharSequence key) {
+        Node node = find(key);
+        return node != null ? node.word : null;
+    }
+
+    @Override
+    public List<Word> searchAll(CharSequence key) {
+        Node node = find(key);
+        return node != null ? node.postings() : Collections.<Word>emptyList();
+    }
+
+    public boolean contains(CharSequence key) {
+        return find(key) != null;
+    }
+
+    public boolean containsWord(CharSequence key, Word word) {
+        Node node = find(key);
+        return node != null && node.holds(word);
+    }
+
+    @Override
+    public List<Word> getRecommendations(CharSequence prefix, int limit) {
+        List<Word> recommendations = new ArrayList<>();
+        forEachCompletion(prefix, limit, recommendations::add);
+        return recommendations;
+    }
+
+    public int forEachCompletion(CharSequence prefix, int limit, Consumer<? super Word> sink) {
+        int emitted = 0;
+        for (Node node = ceiling(prefix, true); node != null && emitted < limit; node = ceiling(node.key, false)) {
+            if (!KeyNormalizer.startsWith(node.key, prefix)) {
+                break;
+            }
+            for (int i = 0; i < node.wordCount() && emitted < limit; i++) {
+                sink.accept(node.wordAt(i));
+                emitted++;
+            }
+        }
+        return emitted;
+    }
+
+    private Node ceiling(CharSequence key, boolean inclusive) {
+        Node ceiling = null;
+        for (Node current = root; current != null; ) {
+            int cmp = KeyNormalizer.compare(key, current.key);
+            if (cmp < 0 || inclusive && cmp == 0) {
+                ceiling = current;
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return ceiling;
+    }
+
+    private Deque<Node> ceilingPath(CharSequence key) {
+        Deque<Node> path = new ArrayDeque<>();
+        for (Node current = root; current != null; ) {
+            if (KeyNormalizer.compare(key, current.key) <= 0) {
+                path.push(current);
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return path;
+    }
+
+    public List<Word> page(int pageIndex, int pageSize) {
+        if (pageIndex < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid page " + pageIndex + " of size " + pageSize);
+        }
+        long from = (long) pageIndex * pageSize;
+        if (from >= wordCount()) {
+            return Collections.emptyList();
+        }
+        List<Word> words = new ArrayList<>(pageSize);
+        for (WordCursor cursor = new WordCursor(root, (int) from); cursor.hasNext() && words.size() < pageSize; ) {
+            words.add(cursor.next());
+        }
+        return words;
+    }
+
+    public int rank(CharSequence key) {
+        int rank = 0;
+        Node current = root;
+        while (current != null) {
+            if (KeyNormalizer.compare(key, current.key) <= 0) {
+                current = current.left;
+            } else {
+                rank += count(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    public String keyAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        Node current = root;
+        while (true) {
+            int leftSize = count(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current.key;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    public int countInRange(CharSequence fromInclusive, CharSequence toExclusive) {
+        return Math.max(0, rank(toExclusive) - rank(fromInclusive));
+    }
+
+    public Map<String, Integer> countByCategory(CharSequence fromInclusive, CharSequence toExclusive) {
+        Map<String, Integer> counts = new TreeMap<>();
+        int remaining = countInRange(fromInclusive, toExclusive);
+        Deque<Node> path = ceilingPath(fromInclusive);
+        for (; remaining > 0 && !path.isEmpty(); remaining--) {
+            Node node = path.pop();
+            for (int i = 0; i < node.wordCount(); i++) {
+                counts.merge(Objects.toString(node.wordAt(i).getCategory(), ""), 1, Integer::sum);
+            }
+            pushLeftSpine(path, node.right);
+        }
+        return counts;
+    }
+
+    public Word selectWord(int index) {
+        if (index < 0 || index >= wordCount()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for word count " + wordCount());
+        }
+        return select(root, index);
+    }
+
+    private static Word select(Node current, int index) {
+        while (true) {
+            int leftWords = words(current.left);
+            if (index < leftWords) {
+                current = current.left;
+            } else if (index < leftWords + current.wordCount()) {
+                return current.wordAt(index - leftWords);
+            } else {
+                index -= leftWords + current.wordCount();
+                current = current.right;
+            }
+        }
+    }
+
+    private static void pushLeftSpine(Deque<Node> path, Node node) {
+        for (; node != null; node = node.left) {
+            path.push(node);
+        }
+    }
+
+    @Override
+    public List<Word> getAllWordsInOrder() {
+        List<Word> words = new ArrayList<>(size);
+        Deque<Node> path = new ArrayDeque<>();
+        pushLeftSpine(path, root);
+        while (!path.isEmpty()) {
+            Node node = path.pop();
+            node.collectWords(words);
+            pushLeftSpine(path, node.right);
+        }
+        return words;
+    }
+
+    @Override
+    public List<String> getAllKeysInOrder() {
+        List<String> keys = new ArrayList<>(size);
+        Deque<Node> path = new ArrayDeque<>();
+        pushLeftSpine(path, root);
+        while (!path.isEmpty()) {
+            Node node = path.pop();
+            keys.add(node.key);
+            pushLeftSpine(path, node.right);
+        }
+        return keys;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int wordCount() {
+        return words(root);
+    }
+
+    @Override
+    public Iterator<Word> iterator() {
+        return new WordCursor(root, 0);
+    }
+
+    @Override
+    public Spliterator<Word> spliterator() {
+        return new WordSpliterator(root, 0, wordCount());
+    }
+
+    public Stream<Word> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public List<Word> asList() {
+        return new WordList(root);
+    }
+
+    private static final class WordCursor implements Iterator<Word> {
+        private final Deque<Node> path = new ArrayDeque<>();
+        private Node node;
+        private int offset;
+
+        WordCursor(Node root, int index) {
+            for (Node current = root; current != null; ) {
+                int leftWords = words(current.left);
+                if (index < leftWords) {
+                    path.push(current);
+                    current = current.left;
+                } else if (index < leftWords + current.wordCount()) {
+                    node = current;
+                    offset = index - leftWords;
+                    break;
+                } else {
+                    index -= leftWords + current.wordCount();
+                    current = current.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        @Override
+        public Word next() {
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            Word word = node.wordAt(offset++);
+            if (offset == node.wordCount()) {
+                pushLeftSpine(path, node.right);
+                node = path.poll();
+                offset = 0;
+            }
+            return word;
+        }
+    }
+
+    private static final class WordSpliterator implements Spliterator<Word> {
+        private final Node root;
+        private int index;
+        private final int fence;
+        private WordCursor cursor;
+
+        WordSpliterator(Node root, int index, int fence) {
+            this.root = root;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator<Word> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (cursor != null || mid <= index) {
+                return null;
+            }
+            WordSpliterator prefix = new WordSpliterator(root, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Word> action) {
+            if (index >= fence) {
+                return false;
+            }
+            if (cursor == null) {
+                cursor = new WordCursor(root, index);
+            }
+            index++;
+            action.accept(cursor.next());
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE
+                 | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    private static final class WordList extends AbstractList<Word> {
+        private final Node root;
+
+        WordList(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public Word get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for word count " + size());
+            }
+            return select(root, index);
+        }
+
+        @Override
+        public int size() {
+            return words(root);
+        }
+
+        @Override
+        public Iterator<Word> iterator() {
+            return new WordCursor(root, 0);
+        }
+
+        @Override
+        public Spliterator<Word> spliterator() {
+            return new WordSpliterator(root, 0, size());
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,32 @@
+package main.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+final class PostingList extends AbstractList<Word> implements RandomAccess {
+    private final IntFunction<Word> words;
+    private final int[] ids;
+    private final int from;
+    private final int to;
+
+    PostingList(IntFunction<Word> words, int[] ids, int from, int to) {
+        this.words = words;
+        this.ids = ids;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public Word get(int index) {
+        if (index < 0 || index >= to - from) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + (to - from));
+        }
+        return words.apply(ids[from + index]);
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+}
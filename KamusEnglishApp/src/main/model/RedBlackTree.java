@@ -1,38 +1,83 @@
 package main.model;
 
+import main.util.KeyNormalizer;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class RedBlackTree {
+public class RedBlackTree implements WordIndex, Iterable<RedBlackTree.Node> {
     private static final boolean RED = true;
     private static final boolean BLACK = false;
+    private static final Comparator<Node> KEY_ORDER = Comparator.comparing(Node::getKey);
+    private static final int PARALLEL_THRESHOLD = 8192;
+    private static final int UNION = 0;
+    private static final int DIFFERENCE = 1;
+    private static final int INTERSECTION = 2;
+    private static final Node NIL = createNil();
     
     private Node root;
-    private final Node NIL;
     private int size;
     
     public RedBlackTree() {
-        NIL = new Node(null, null);
-        NIL.color = BLACK;
         root = NIL;
         size = 0;
     }
 
+    private static Node createNil() {
+        Node nil = new Node(null, null);
+        nil.color = BLACK;
+        nil.subtreeSize = 0;
+        nil.subtreeWords = 0;
+        return nil;
+    }
+
     public static class Node {
         String key;
         Word word;
+        Word[] earlier;
         Node left, right, parent;
         boolean color;
+        int subtreeSize;
+        int subtreeWords;
         
         Node(String key, Word word) {
             this.key = key;
             this.word = word;
             this.color = RED;
+            this.subtreeSize = 1;
+            this.subtreeWords = 1;
             this.left = null;
             this.right = null;
             this.parent = null;
         }
         
+        public String getKey() {
+            return key;
+        }
+        
+        public Word getWord() {
+            return word;
+        }
+        
+        public List<Word> getWords() {
+            List<Word> words = new ArrayList<>(getWordCount());
+            collectWords(words);
+            return words;
+        }
+        
         public boolean hasGimmick() {
             return word != null && word.hasGimmick();
         }
@@ -44,25 +89,194 @@ public class RedBlackTree {
         public boolean hasDefinition() {
             return word != null && word.hasDefinition();
         }
+        
+        public int getWordCount() {
+            return earlier == null ? 1 : earlier.length + 1;
+        }
+        
+        Word wordAt(int index) {
+            return earlier != null && index < earlier.length ? earlier[index] : word;
+        }
+        
+        void resize() {
+            subtreeSize = left.subtreeSize + right.subtreeSize + 1;
+            subtreeWords = left.subtreeWords + right.subtreeWords + getWordCount();
+        }
+        
+        void add(Word newWord) {
+            if (earlier == null) {
+                earlier = new Word[] { word };
+            } else {
+                earlier = Arrays.copyOf(earlier, earlier.length + 1);
+                earlier[earlier.length - 1] = word;
+            }
+            word = newWord;
+        }
+        
+        boolean removeWord(Word target) {
+            if (word == target) {
+                if (earlier == null) {
+                    word = null;
+                } else {
+                    word = earlier[earlier.length - 1];
+                    earlier = earlier.length == 1 ? null : Arrays.copyOf(earlier, earlier.length - 1);
+                }
+                return true;
+            }
+            if (earlier != null) {
+                for (int i = 0; i < earlier.length; i++) {
+                    if (earlier[i] == target) {
+                        Word[] remaining = new Word[earlier.length - 1];
+                        System.arraycopy(earlier, 0, remaining, 0, i);
+                        System.arraycopy(earlier, i + 1, remaining, i, remaining.length - i);
+                        earlier = remaining.length == 0 ? null : remaining;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        
+        boolean replaceWord(Word target, Word replacement) {
+            if (word == target) {
+                word = replacement;
+                return true;
+            }
+            if (earlier != null) {
+                for (int i = 0; i < earlier.length; i++) {
+                    if (earlier[i] == target) {
+                        earlier = earlier.clone();
+                        earlier[i] = replacement;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        
+        void prepend(Node older) {
+            int olderCount = older.getWordCount();
+            Word[] merged = new Word[olderCount + getWordCount() - 1];
+            if (older.earlier != null) {
+                System.arraycopy(older.earlier, 0, merged, 0, olderCount - 1);
+            }
+            merged[olderCount - 1] = older.word;
+            if (earlier != null) {
+                System.arraycopy(earlier, 0, merged, olderCount, earlier.length);
+            }
+            earlier = merged;
+        }
+        
+        void collectWords(List<Word> words) {
+            forEachWord(words::add);
+        }
+        
+        void forEachWord(Consumer<? super Word> sink) {
+            if (earlier != null) {
+                for (Word w : earlier) {
+                    sink.accept(w);
+                }
+            }
+            sink.accept(word);
+        }
+    }
+
+    public static RedBlackTree fromSorted(String[] keys, Word[] words, int count) {
+        Node[] nodes = new Node[count];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            String key = KeyNormalizer.fold(keys[i]);
+            int cmp = unique > 0 ? nodes[unique - 1].key.compareTo(key) : -1;
+            if (cmp > 0) {
+                throw new IllegalArgumentException("Keys are not sorted at index " + i + ": " + keys[i]);
+            }
+            if (cmp == 0) {
+                nodes[unique - 1].add(words[i]);
+            } else {
+                nodes[unique++] = new Node(key, words[i]);
+            }
+        }
+        
+        RedBlackTree tree = new RedBlackTree();
+        if (unique > 0) {
+            tree.root = tree.buildFromSorted(nodes, 0, unique - 1, 0, computeRedLevel(unique));
+            tree.root.parent = null;
+            tree.root.color = BLACK;
+            tree.size = unique;
+        }
+        return tree;
+    }
+    
+    public static RedBlackTree sortAndBuild(String[] keys, Word[] words) {
+        int count = keys.length;
+        String[] folded = new String[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            folded[i] = KeyNormalizer.fold(keys[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> folded[a].compareTo(folded[b]));
+        
+        String[] sortedKeys = new String[count];
+        Word[] sortedWords = new Word[count];
+        for (int i = 0; i < count; i++) {
+            sortedKeys[i] = folded[order[i]];
+            sortedWords[i] = words[order[i]];
+        }
+        return fromSorted(sortedKeys, sortedWords, count);
+    }
+    
+    private Node buildFromSorted(Node[] nodes, int lo, int hi, int level, int redLevel) {
+        if (lo > hi) {
+            return NIL;
+        }
+        
+        int mid = (lo + hi) >>> 1;
+        Node node = nodes[mid];
+        node.color = level == redLevel ? RED : BLACK;
+        node.left = buildFromSorted(nodes, lo, mid - 1, level + 1, redLevel);
+        node.right = buildFromSorted(nodes, mid + 1, hi, level + 1, redLevel);
+        node.resize();
+        
+        if (node.left != NIL) {
+            node.left.parent = node;
+        }
+        if (node.right != NIL) {
+            node.right.parent = node;
+        }
+        return node;
+    }
+    
+    private static int computeRedLevel(int count) {
+        int level = 0;
+        for (int m = count - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
     }
 
     public void insert(String key, Word word) {
-        Node newNode = new Node(key.toLowerCase(), word);
+        String foldedKey = KeyNormalizer.fold(key);
+        Node newNode = new Node(foldedKey, word);
         newNode.left = NIL;
         newNode.right = NIL;
         
         Node parent = null;
         Node current = root;
+        int cmp = 0;
 
         while (current != NIL) {
             parent = current;
-            int cmp = key.toLowerCase().compareTo(current.key);
+            cmp = foldedKey.compareTo(current.key);
             if (cmp < 0) {
                 current = current.left;
             } else if (cmp > 0) {
                 current = current.right;
             } else {
-                current.word = word;
+                current.add(word);
+                for (Node ancestor = current; ancestor != null; ancestor = ancestor.parent) {
+                    ancestor.subtreeWords++;
+                }
                 return;
             }
         }
@@ -71,11 +285,15 @@ public class RedBlackTree {
         
         if (parent == null) {
             root = newNode;
-        } else if (key.toLowerCase().compareTo(parent.key) < 0) {
+        } else if (cmp < 0) {
             parent.left = newNode;
         } else {
             parent.right = newNode;
         }
+        for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.subtreeSize++;
+            ancestor.subtreeWords++;
+        }
 
         if (newNode.parent == null) {
             newNode.color = BLACK;
@@ -92,14 +310,27 @@ public class RedBlackTree {
         size++;
     }
     
-    public Word search(String key) {
+    public Word search(CharSequence key) {
+        Node node = searchNode(key);
+        return node != null ? node.word : null;
+    }
+    
+    public List<Word> searchAll(CharSequence key) {
+        List<Word> words = new ArrayList<>();
+        Node node = searchNode(key);
+        if (node != null) {
+            node.collectWords(words);
+        }
+        return words;
+    }
+    
+    public Node searchNode(CharSequence key) {
         Node current = root;
-        String searchKey = key.toLowerCase();
         
         while (current != NIL) {
-            int cmp = searchKey.compareTo(current.key);
+            int cmp = KeyNormalizer.compare(key, current.key);
             if (cmp == 0) {
-                return current.word;
+                return current;
             } else if (cmp < 0) {
                 current = current.left;
             } else {
@@ -109,31 +340,168 @@ public class RedBlackTree {
         return null;
     }
     
-    public Node searchNode(String key) {
-        Node current = root;
-        String searchKey = key.toLowerCase();
+    public boolean contains(CharSequence key) {
+        return search(key) != null;
+    }
+    
+    public boolean delete(CharSequence key) {
+        Node node = searchNode(key);
+        if (node == null) {
+            return false;
+        }
+        deleteNode(node);
+        return true;
+    }
+    
+    public boolean remove(CharSequence key, Word word) {
+        Node node = searchNode(key);
+        if (node == null || !node.removeWord(word)) {
+            return false;
+        }
+        if (node.word == null) {
+            deleteNode(node);
+        } else {
+            for (Node ancestor = node; ancestor != null; ancestor = ancestor.parent) {
+                ancestor.subtreeWords--;
+            }
+        }
+        return true;
+    }
+    
+    public boolean replace(CharSequence key, Word word, Word replacement) {
+        Node node = searchNode(key);
+        return node != null && node.replaceWord(word, replacement);
+    }
+    
+    private void deleteNode(Node node) {
+        Node moved = node;
+        boolean movedColor = moved.color;
+        Node child;
+        Node childParent;
         
-        while (current != NIL) {
-            int cmp = searchKey.compareTo(current.key);
-            if (cmp == 0) {
-                return current;
-            } else if (cmp < 0) {
-                current = current.left;
+        if (node.left == NIL) {
+            child = node.right;
+            childParent = node.parent;
+            transplant(node, node.right);
+        } else if (node.right == NIL) {
+            child = node.left;
+            childParent = node.parent;
+            transplant(node, node.left);
+        } else {
+            moved = minimum(node.right);
+            movedColor = moved.color;
+            child = moved.right;
+            if (moved.parent == node) {
+                childParent = moved;
             } else {
-                current = current.right;
+                childParent = moved.parent;
+                transplant(moved, moved.right);
+                moved.right = node.right;
+                moved.right.parent = moved;
             }
+            transplant(node, moved);
+            moved.left = node.left;
+            moved.left.parent = moved;
+            moved.color = node.color;
         }
-        return null;
+        
+        for (Node ancestor = childParent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.resize();
+        }
+        if (movedColor == BLACK) {
+            fixDelete(child, childParent);
+        }
+        
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        node.subtreeSize = 1;
+        node.subtreeWords = node.word != null ? node.getWordCount() : 0;
+        size--;
     }
     
-    public boolean contains(String key) {
-        return search(key) != null;
+    private void transplant(Node target, Node replacement) {
+        if (target.parent == null) {
+            root = replacement;
+        } else if (target == target.parent.left) {
+            target.parent.left = replacement;
+        } else {
+            target.parent.right = replacement;
+        }
+        if (replacement != NIL) {
+            replacement.parent = target.parent;
+        }
+    }
+    
+    private void fixDelete(Node node, Node parent) {
+        while (node != root && node.color == BLACK) {
+            if (node == parent.left) {
+                Node sibling = parent.right;
+                if (sibling.color == RED) {
+                    sibling.color = BLACK;
+                    parent.color = RED;
+                    leftRotate(parent);
+                    sibling = parent.right;
+                }
+                if (sibling.left.color == BLACK && sibling.right.color == BLACK) {
+                    sibling.color = RED;
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    if (sibling.right.color == BLACK) {
+                        sibling.left.color = BLACK;
+                        sibling.color = RED;
+                        rightRotate(sibling);
+                        sibling = parent.right;
+                    }
+                    sibling.color = parent.color;
+                    parent.color = BLACK;
+                    sibling.right.color = BLACK;
+                    leftRotate(parent);
+                    node = root;
+                    parent = null;
+                }
+            } else {
+                Node sibling = parent.left;
+                if (sibling.color == RED) {
+                    sibling.color = BLACK;
+                    parent.color = RED;
+                    rightRotate(parent);
+                    sibling = parent.left;
+                }
+                if (sibling.right.color == BLACK && sibling.left.color == BLACK) {
+                    sibling.color = RED;
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    if (sibling.left.color == BLACK) {
+                        sibling.right.color = BLACK;
+                        sibling.color = RED;
+                        leftRotate(sibling);
+                        sibling = parent.left;
+                    }
+                    sibling.color = parent.color;
+                    parent.color = BLACK;
+                    sibling.left.color = BLACK;
+                    rightRotate(parent);
+                    node = root;
+                    parent = null;
+                }
+            }
+        }
+        if (node != NIL) {
+            node.color = BLACK;
+        }
     }
     
     public int size() {
         return size;
     }
     
+    public int wordCount() {
+        return root.subtreeWords;
+    }
+    
     public boolean isEmpty() {
         return root == NIL;
     }
@@ -143,6 +511,342 @@ public class RedBlackTree {
         size = 0;
     }
     
+    public RedBlackTree copy() {
+        RedBlackTree tree = new RedBlackTree();
+        tree.root = copyOf(root);
+        if (tree.root != NIL) {
+            tree.root.parent = null;
+        }
+        tree.size = size;
+        return tree;
+    }
+    
+    private static Node copyOf(Node node) {
+        if (node == NIL) {
+            return NIL;
+        }
+        Node copy = new Node(node.key, node.word);
+        copy.earlier = node.earlier;
+        copy.color = node.color;
+        link(copy, copyOf(node.left), copyOf(node.right));
+        return copy;
+    }
+    
+    public static RedBlackTree join(RedBlackTree less, RedBlackTree greater) {
+        if (less.root != NIL && greater.root != NIL
+                && less.maximum(less.root).key.compareTo(greater.minimum(greater.root).key) >= 0) {
+            throw new IllegalArgumentException("Every key of the first tree must precede the second tree");
+        }
+        RedBlackTree tree = new RedBlackTree();
+        tree.adopt(join2(less.root, blackHeight(less.root), greater.root, blackHeight(greater.root)));
+        less.clear();
+        greater.clear();
+        return tree;
+    }
+    
+    public Split split(CharSequence key) {
+        Cut cut = cut(root, blackHeight(root), key);
+        RedBlackTree less = new RedBlackTree();
+        RedBlackTree greater = new RedBlackTree();
+        less.adopt(new Part(cut.left, cut.leftHeight));
+        greater.adopt(new Part(cut.right, cut.rightHeight));
+        if (cut.match != null) {
+            cut.match.left = NIL;
+            cut.match.right = NIL;
+            cut.match.parent = null;
+            cut.match.subtreeSize = 1;
+            cut.match.subtreeWords = cut.match.getWordCount();
+        }
+        clear();
+        return new Split(less, cut.match, greater);
+    }
+    
+    public void union(RedBlackTree other) {
+        combine(UNION, other);
+        other.clear();
+    }
+    
+    public void difference(RedBlackTree other) {
+        combine(DIFFERENCE, other);
+    }
+    
+    public void intersection(RedBlackTree other) {
+        combine(INTERSECTION, other);
+    }
+    
+    private void combine(int operation, RedBlackTree other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot combine a tree with itself");
+        }
+        SetOperation task = new SetOperation(operation, root, blackHeight(root), other.root, blackHeight(other.root));
+        adopt(size + other.size >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(task) : task.compute());
+    }
+    
+    private void adopt(Part part) {
+        root = part.root;
+        if (root != NIL) {
+            root.parent = null;
+            root.color = BLACK;
+        }
+        size = root.subtreeSize;
+    }
+    
+    public static final class Split {
+        private final RedBlackTree less;
+        private final Node match;
+        private final RedBlackTree greater;
+        
+        Split(RedBlackTree less, Node match, RedBlackTree greater) {
+            this.less = less;
+            this.match = match;
+            this.greater = greater;
+        }
+        
+        public RedBlackTree getLess() {
+            return less;
+        }
+        
+        public Node getMatch() {
+            return match;
+        }
+        
+        public RedBlackTree getGreater() {
+            return greater;
+        }
+    }
+    
+    private static final class Part {
+        final Node root;
+        final int height;
+        
+        Part(Node root, int height) {
+            this.root = root;
+            this.height = height;
+        }
+    }
+    
+    private static final class Cut {
+        final Node left;
+        final int leftHeight;
+        final Node match;
+        final Node right;
+        final int rightHeight;
+        
+        Cut(Node left, int leftHeight, Node match, Node right, int rightHeight) {
+            this.left = left;
+            this.leftHeight = leftHeight;
+            this.match = match;
+            this.right = right;
+            this.rightHeight = rightHeight;
+        }
+    }
+    
+    private static final class SetOperation extends RecursiveTask<Part> {
+        private static final long serialVersionUID = 1L;
+
+        private final int operation;
+        private final Node first;
+        private final int firstHeight;
+        private final Node second;
+        private final int secondHeight;
+        
+        SetOperation(int operation, Node first, int firstHeight, Node second, int secondHeight) {
+            this.operation = operation;
+            this.first = first;
+            this.firstHeight = firstHeight;
+            this.second = second;
+            this.secondHeight = secondHeight;
+        }
+        
+        @Override
+        protected Part compute() {
+            if (first == NIL) {
+                return operation == UNION ? new Part(second, secondHeight) : new Part(NIL, 0);
+            }
+            if (second == NIL) {
+                return operation == INTERSECTION ? new Part(NIL, 0) : new Part(first, firstHeight);
+            }
+            
+            int childHeight = secondHeight - (second.color == BLACK ? 1 : 0);
+            Node secondLeft = second.left;
+            Node secondRight = second.right;
+            Cut cut = cut(first, firstHeight, second.key);
+            
+            SetOperation leftTask = new SetOperation(operation, cut.left, cut.leftHeight, secondLeft, childHeight);
+            SetOperation rightTask = new SetOperation(operation, cut.right, cut.rightHeight, secondRight, childHeight);
+            Part left;
+            Part right;
+            if (cut.left.subtreeSize + secondLeft.subtreeSize >= PARALLEL_THRESHOLD) {
+                leftTask.fork();
+                right = rightTask.compute();
+                left = leftTask.join();
+            } else {
+                left = leftTask.compute();
+                right = rightTask.compute();
+            }
+            
+            if (operation == UNION) {
+                if (cut.match != null) {
+                    second.prepend(cut.match);
+                }
+                return joinParts(left, second, right);
+            }
+            if (operation == INTERSECTION && cut.match != null) {
+                return joinParts(left, cut.match, right);
+            }
+            return join2(left.root, left.height, right.root, right.height);
+        }
+    }
+    
+    private static Part joinParts(Part left, Node middle, Part right) {
+        return join(left.root, left.height, middle, right.root, right.height);
+    }
+    
+    private static int blackHeight(Node node) {
+        int height = 0;
+        for (; node != NIL; node = node.left) {
+            if (node.color == BLACK) {
+                height++;
+            }
+        }
+        return height;
+    }
+    
+    private static void link(Node node, Node left, Node right) {
+        node.left = left;
+        node.right = right;
+        if (left != NIL) {
+            left.parent = node;
+        }
+        if (right != NIL) {
+            right.parent = node;
+        }
+        node.resize();
+    }
+    
+    private static Part join(Node left, int leftHeight, Node middle, Node right, int rightHeight) {
+        if (left.color == RED) {
+            left.color = BLACK;
+            leftHeight++;
+        }
+        if (right.color == RED) {
+            right.color = BLACK;
+            rightHeight++;
+        }
+        
+        Node joined;
+        int height;
+        if (leftHeight > rightHeight) {
+            joined = joinRight(left, leftHeight, middle, right, rightHeight);
+            height = leftHeight;
+        } else if (rightHeight > leftHeight) {
+            joined = joinLeft(left, leftHeight, middle, right, rightHeight);
+            height = rightHeight;
+        } else {
+            middle.color = RED;
+            link(middle, left, right);
+            joined = middle;
+            height = leftHeight;
+        }
+        
+        if (joined.color == RED && (joined.left.color == RED || joined.right.color == RED)) {
+            joined.color = BLACK;
+            height++;
+        }
+        joined.parent = null;
+        return new Part(joined, height);
+    }
+    
+    private static Node joinRight(Node left, int leftHeight, Node middle, Node right, int rightHeight) {
+        if (left.color == BLACK && leftHeight == rightHeight) {
+            middle.color = RED;
+            link(middle, left, right);
+            return middle;
+        }
+        
+        Node joined = joinRight(left.right, leftHeight - (left.color == BLACK ? 1 : 0), middle, right, rightHeight);
+        link(left, left.left, joined);
+        if (left.color == BLACK && joined.color == RED && joined.right.color == RED) {
+            joined.right.color = BLACK;
+            return rotateLeft(left);
+        }
+        return left;
+    }
+    
+    private static Node joinLeft(Node left, int leftHeight, Node middle, Node right, int rightHeight) {
+        if (right.color == BLACK && leftHeight == rightHeight) {
+            middle.color = RED;
+            link(middle, left, right);
+            return middle;
+        }
+        
+        Node joined = joinLeft(left, leftHeight, middle, right.left, rightHeight - (right.color == BLACK ? 1 : 0));
+        link(right, joined, right.right);
+        if (right.color == BLACK && joined.color == RED && joined.left.color == RED) {
+            joined.left.color = BLACK;
+            return rotateRight(right);
+        }
+        return right;
+    }
+    
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        link(node, node.left, pivot.left);
+        link(pivot, node, pivot.right);
+        return pivot;
+    }
+    
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        link(node, pivot.right, node.right);
+        link(pivot, pivot.left, node);
+        return pivot;
+    }
+    
+    private static Part join2(Node left, int leftHeight, Node right, int rightHeight) {
+        if (left == NIL) {
+            return new Part(right, rightHeight);
+        }
+        if (right == NIL) {
+            return new Part(left, leftHeight);
+        }
+        Cut last = cutLast(left, leftHeight);
+        return join(last.left, last.leftHeight, last.match, right, rightHeight);
+    }
+    
+    private static Cut cutLast(Node node, int height) {
+        int childHeight = height - (node.color == BLACK ? 1 : 0);
+        Node left = node.left;
+        Node right = node.right;
+        if (right == NIL) {
+            return new Cut(left, childHeight, node, NIL, 0);
+        }
+        Cut last = cutLast(right, childHeight);
+        Part rest = join(left, childHeight, node, last.left, last.leftHeight);
+        return new Cut(rest.root, rest.height, last.match, NIL, 0);
+    }
+    
+    private static Cut cut(Node node, int height, CharSequence key) {
+        if (node == NIL) {
+            return new Cut(NIL, 0, null, NIL, 0);
+        }
+        int childHeight = height - (node.color == BLACK ? 1 : 0);
+        Node left = node.left;
+        Node right = node.right;
+        int cmp = KeyNormalizer.compare(key, node.key);
+        if (cmp == 0) {
+            return new Cut(left, childHeight, node, right, childHeight);
+        }
+        if (cmp < 0) {
+            Cut below = cut(left, childHeight, key);
+            Part rest = join(below.right, below.rightHeight, node, right, childHeight);
+            return new Cut(below.left, below.leftHeight, below.match, rest.root, rest.height);
+        }
+        Cut below = cut(right, childHeight, key);
+        Part rest = join(left, childHeight, node, below.left, below.leftHeight);
+        return new Cut(rest.root, rest.height, below.match, below.right, below.rightHeight);
+    }
+    
     private void fixInsert(Node node) {
         while (node.parent != null && node.parent.color == RED) {
             if (node.parent == node.parent.parent.right) {
@@ -203,6 +907,10 @@ public class RedBlackTree {
         
         y.left = x;
         x.parent = y;
+        
+        y.subtreeSize = x.subtreeSize;
+        y.subtreeWords = x.subtreeWords;
+        x.resize();
     }
     
     private void rightRotate(Node x) {
@@ -225,59 +933,314 @@ public class RedBlackTree {
         
         y.right = x;
         x.parent = y;
+        
+        y.subtreeSize = x.subtreeSize;
+        y.subtreeWords = x.subtreeWords;
+        x.resize();
+    }
+    
+    public List<Word> getRecommendations(CharSequence prefix) {
+        return getRecommendations(prefix, 10);
     }
     
-    public List<Word> getRecommendations(String prefix) {
+    public List<Word> getRecommendations(CharSequence prefix, int limit) {
         List<Word> recommendations = new ArrayList<>();
-        findRecommendationsInOrder(root, prefix.toLowerCase(), recommendations);
+        
+        Node node = ceilingNode(prefix);
+        while (node != null && recommendations.size() < limit && KeyNormalizer.startsWith(node.key, prefix)) {
+            node.collectWords(recommendations);
+            node = successor(node);
+        }
+        if (recommendations.size() > limit) {
+            recommendations.subList(limit, recommendations.size()).clear();
+        }
         return recommendations;
     }
     
-    private void findRecommendationsInOrder(Node node, String prefix, List<Word> recommendations) {
-        if (node == NIL) {
-            return;
-        }
-        
-        findRecommendationsInOrder(node.left, prefix, recommendations);
+    private Node ceilingNode(CharSequence key) {
+        Node current = root;
+        Node ceiling = null;
         
-        if (recommendations.size() < 10 && node.key.startsWith(prefix)) {
-            recommendations.add(node.word);
+        while (current != NIL) {
+            int cmp = KeyNormalizer.compare(key, current.key);
+            if (cmp == 0) {
+                return current;
+            } else if (cmp < 0) {
+                ceiling = current;
+                current = current.left;
+            } else {
+                current = current.right;
+            }
         }
-        
-        if (recommendations.size() < 10) {
-            findRecommendationsInOrder(node.right, prefix, recommendations);
+        return ceiling;
+    }
+    
+    public int rank(CharSequence key) {
+        int rank = 0;
+        Node current = root;
+        while (current != NIL) {
+            if (KeyNormalizer.compare(key, current.key) <= 0) {
+                current = current.left;
+            } else {
+                rank += current.left.subtreeSize + 1;
+                current = current.right;
+            }
         }
+        return rank;
     }
     
-    public List<Word> getAllWordsInOrder() {
-        List<Word> words = new ArrayList<>();
-        collectInOrder(root, words);
+    public Node select(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        Node current = root;
+        while (true) {
+            int leftSize = current.left.subtreeSize;
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+    
+    public Word selectWord(int index) {
+        if (index < 0 || index >= root.subtreeWords) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for word count " + root.subtreeWords);
+        }
+        Node current = root;
+        while (true) {
+            int leftWords = current.left.subtreeWords;
+            if (index < leftWords) {
+                current = current.left;
+            } else if (index < leftWords + current.getWordCount()) {
+                return current.wordAt(index - leftWords);
+            } else {
+                index -= leftWords + current.getWordCount();
+                current = current.right;
+            }
+        }
+    }
+    
+    public List<Word> page(int pageIndex, int pageSize) {
+        if (pageIndex < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid page " + pageIndex + " of size " + pageSize);
+        }
+        long from = (long) pageIndex * pageSize;
+        if (from >= root.subtreeWords) {
+            return Collections.emptyList();
+        }
+        int skip = (int) from;
+        Node node = root;
+        while (true) {
+            int leftWords = node.left.subtreeWords;
+            if (skip < leftWords) {
+                node = node.left;
+            } else if (skip < leftWords + node.getWordCount()) {
+                skip -= leftWords;
+                break;
+            } else {
+                skip -= leftWords + node.getWordCount();
+                node = node.right;
+            }
+        }
+        List<Word> words = new ArrayList<>(pageSize);
+        for (; node != null && words.size() < pageSize; node = successor(node)) {
+            for (int i = skip; i < node.getWordCount() && words.size() < pageSize; i++) {
+                words.add(node.wordAt(i));
+            }
+            skip = 0;
+        }
         return words;
     }
     
-    private void collectInOrder(Node node, List<Word> words) {
-        if (node == NIL) {
-            return;
+    public int countInRange(CharSequence fromInclusive, CharSequence toExclusive) {
+        return Math.max(0, rank(toExclusive) - rank(fromInclusive));
+    }
+    
+    public Map<String, Integer> countByCategory(CharSequence fromInclusive, CharSequence toExclusive) {
+        Map<String, Integer> counts = new TreeMap<>();
+        int remaining = countInRange(fromInclusive, toExclusive);
+        for (Node node = ceilingNode(fromInclusive); node != null && remaining > 0; node = successor(node)) {
+            node.forEachWord(word -> counts.merge(Objects.toString(word.getCategory(), ""), 1, Integer::sum));
+            remaining--;
+        }
+        return counts;
+    }
+    
+    public Node firstNode() {
+        if (root == NIL) {
+            return null;
+        }
+        Node current = root;
+        while (current.left != NIL) {
+            current = current.left;
+        }
+        return current;
+    }
+    
+    public Node nextNode(Node node) {
+        return successor(node);
+    }
+    
+    private Node successor(Node node) {
+        if (node.right != NIL) {
+            Node current = node.right;
+            while (current.left != NIL) {
+                current = current.left;
+            }
+            return current;
         }
         
-        collectInOrder(node.left, words);
-        words.add(node.word);
-        collectInOrder(node.right, words);
+        Node parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+    
+    public List<Word> getAllWordsInOrder() {
+        List<Word> words = new ArrayList<>(size);
+        for (Node node = firstNode(); node != null; node = successor(node)) {
+            node.collectWords(words);
+        }
+        return words;
     }
     
     public List<String> getAllKeysInOrder() {
-        List<String> keys = new ArrayList<>();
-        collectKeysInOrder(root, keys);
+        List<String> keys = new ArrayList<>(size);
+        for (Node node = firstNode(); node != null; node = successor(node)) {
+            keys.add(node.key);
+        }
         return keys;
     }
     
-    private void collectKeysInOrder(Node node, List<String> keys) {
-        if (node == NIL) {
-            return;
+    @Override
+    public Iterator<Node> iterator() {
+        return new NodeIterator(firstNode());
+    }
+    
+    public Iterator<Node> iteratorFrom(CharSequence key) {
+        return new NodeIterator(ceilingNode(key));
+    }
+    
+    @Override
+    public Spliterator<Node> spliterator() {
+        return new NodeSpliterator(null, root, size);
+    }
+    
+    public Stream<Node> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    public Stream<Word> wordStream() {
+        return stream().flatMap(node -> node.getWords().stream());
+    }
+    
+    private Node minimum(Node node) {
+        while (node.left != NIL) {
+            node = node.left;
+        }
+        return node;
+    }
+    
+    private Node maximum(Node node) {
+        while (node.right != NIL) {
+            node = node.right;
+        }
+        return node;
+    }
+    
+    private final class NodeIterator implements Iterator<Node> {
+        private Node next;
+        
+        NodeIterator(Node first) {
+            this.next = first;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return next != null;
         }
         
-        collectKeysInOrder(node.left, keys);
-        keys.add(node.key);
-        collectKeysInOrder(node.right, keys);
+        @Override
+        public Node next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Node current = next;
+            next = successor(current);
+            return current;
+        }
+    }
+    
+    private final class NodeSpliterator implements Spliterator<Node> {
+        private Node head;
+        private Node subtree;
+        private Node next;
+        private Node last;
+        private long remaining;
+        
+        NodeSpliterator(Node head, Node subtree, long remaining) {
+            this.head = head;
+            this.subtree = subtree;
+            this.remaining = remaining;
+        }
+        
+        @Override
+        public Spliterator<Node> trySplit() {
+            if (subtree == NIL || (head == null && subtree.left == NIL)) {
+                return null;
+            }
+            NodeSpliterator prefix = new NodeSpliterator(head, subtree.left,
+                                                         (head != null ? 1 : 0) + subtree.left.subtreeSize);
+            head = subtree;
+            subtree = subtree.right;
+            remaining -= prefix.remaining;
+            return prefix;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super Node> action) {
+            Node current;
+            if (head != null) {
+                current = head;
+                head = null;
+            } else {
+                if (subtree != NIL) {
+                    next = minimum(subtree);
+                    last = maximum(subtree);
+                    subtree = NIL;
+                }
+                if (next == null) {
+                    return false;
+                }
+                current = next;
+                next = current == last ? null : successor(current);
+            }
+            remaining--;
+            action.accept(current);
+            return true;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+        
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED
+                 | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+        
+        @Override
+        public Comparator<? super Node> getComparator() {
+            return KEY_ORDER;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,476 @@
+package main.model;
+
+import main.util.KeyNormalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+public class ShardedIndex implements WordIndex {
+    static final int SHARD_COUNT = 28;
+    private static final Overlay NO_OVERLAY = new Overlay(null, new ArrayRedBlackTree(0));
+
+    private final Shard[] shards;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Joined joined;
+
+    private static final class Shard {
+        final int index;
+        final StampedLock lock = new StampedLock();
+        volatile PersistentRedBlackTree tree;
+        volatile Overlay overlay;
+
+        Shard(int index, PersistentRedBlackTree tree, Overlay overlay) {
+            this.index = index;
+            this.tree = tree;
+            this.overlay = overlay;
+        }
+
+        PersistentRedBlackTree tree() {
+            PersistentRedBlackTree built = tree;
+            if (built == null) {
+                synchronized (this) {
+                    if (tree == null) {
+                        tree = overlay.base.tree(index);
+                    }
+                    built = tree;
+                }
+            }
+            return built;
+        }
+    }
+
+    private static final class Overlay {
+        final FrozenDictionary.Side base;
+        final ArrayRedBlackTree entries;
+        final ExactMatchIndex exact;
+        final List<List<Word>> postings;
+
+        Overlay(FrozenDictionary.Side base, ArrayRedBlackTree entries) {
+            this.base = base;
+            this.entries = entries;
+            String[] keys = entries.sortedKeys();
+            this.exact = new ExactMatchIndex(keys);
+            this.postings = new ArrayList<>(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                List<Word> words = entries.wordsAt(i + 1);
+                postings.add(words.isEmpty() ? Collections.<Word>emptyList() : Collections.unmodifiableList(words));
+            }
+        }
+
+        List<Word> get(CharSequence key) {
+            int id = exact.get(key);
+            return id >= 0 ? postings.get(id) : null;
+        }
+
+        Overlay with(CharSequence key, List<Word> words) {
+            String[] touched = entries.sortedKeys();
+            String folded = KeyNormalizer.fold(key.toString());
+            int position = Arrays.binarySearch(touched, folded);
+            int insertAt = position >= 0 ? position : -position - 1;
+            List<String> keys = new ArrayList<>(touched.length + words.size() + 1);
+            List<Word> postings = new ArrayList<>(touched.length + words.size() + 1);
+            for (int i = 0; i < insertAt; i++) {
+                append(keys, postings, touched[i], this.postings.get(i));
+            }
+            append(keys, postings, folded, words);
+            for (int i = position >= 0 ? insertAt + 1 : insertAt; i < touched.length; i++) {
+                append(keys, postings, touched[i], this.postings.get(i));
+            }
+            return new Overlay(base, ArrayRedBlackTree.fromSorted(keys.toArray(new String[0]),
+                                                                   postings.toArray(new Word[0]), keys.size()));
+        }
+
+        private static void append(List<String> keys, List<Word> postings, String key, List<Word> words) {
+            if (words.isEmpty()) {
+                keys.add(key);
+                postings.add(null);
+                return;
+            }
+            for (Word word : words) {
+                keys.add(key);
+                postings.add(word);
+            }
+        }
+    }
+
+    private static final class Joined {
+        final long version;
+        final PersistentRedBlackTree tree;
+
+        Joined(long version, PersistentRedBlackTree tree) {
+            this.version = version;
+            this.tree = tree;
+        }
+    }
+
+    public ShardedIndex() {
+        this.shards = new Shard[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard(i, PersistentRedBlackTree.empty(), NO_OVERLAY);
+        }
+    }
+
+    public ShardedIndex(ShardedIndex source) {
+        this.shards = new Shard[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            Shard shard = source.shards[i];
+            synchronized (shard) {
+                shards[i] = new Shard(i, shard.tree, shard.overlay);
+            }
+        }
+    }
+
+    public static ShardedIndex fromSorted(String[] keys, Word[] words, int count) {
+        ShardedIndex index = new ShardedIndex();
+        int from = 0;
+        int previous = -1;
+        while (from < count) {
+            int shard = shardOf(keys[from]);
+            int to = from + 1;
+            while (to < count && shardOf(keys[to]) == shard) {
+                to++;
+            }
+            if (shard <= previous) {
+                throw new IllegalArgumentException("Keys are not sorted at index " + from + ": " + keys[from]);
+            }
+            index.shards[shard].tree = PersistentRedBlackTree.fromSorted(Arrays.copyOfRange(keys, from, to),
+                                                                         Arrays.copyOfRange(words, from, to),
+                                                                         to - from);
+            previous = shard;
+            from = to;
+        }
+        return index;
+    }
+
+    static int shardOf(CharSequence key) {
+        if (key.length() == 0) {
+            return 0;
+        }
+        char first = Character.toLowerCase(key.charAt(0));
+        if (first < 'a') {
+            return 0;
+        }
+        if (first > 'z') {
+            return SHARD_COUNT - 1;
+        }
+        return first - 'a' + 1;
+    }
+
+    public final class Edit implements AutoCloseable {
+        private final int[] locked;
+        private final long[] stamps;
+        private boolean modified;
+
+        Edit(CharSequence... keys) {
+            int[] wanted = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                wanted[i] = shardOf(keys[i]);
+            }
+            Arrays.sort(wanted);
+            int unique = 0;
+            for (int i = 0; i < wanted.length; i++) {
+                if (i == 0 || wanted[i] != wanted[i - 1]) {
+                    wanted[unique++] = wanted[i];
+                }
+            }
+            this.locked = Arrays.copyOf(wanted, unique);
+            this.stamps = new long[unique];
+            for (int i = 0; i < unique; i++) {
+                stamps[i] = shards[locked[i]].lock.writeLock();
+            }
+        }
+
+        private Shard shard(CharSequence key) {
+            int shard = shardOf(key);
+            if (Arrays.binarySearch(locked, shard) < 0) {
+                throw new IllegalStateException("Shard of key '" + key + "' is not locked by this edit");
+            }
+            return shards[shard];
+        }
+
+        public List<Word> searchAll(CharSequence key) {
+            return shard(key).tree().searchAll(key);
+        }
+
+        private void touch(Shard shard, CharSequence key) {
+            shard.overlay = shard.overlay.with(key, shard.tree().searchAll(key));
+        }
+
+        public void insert(String key, Word word) {
+            Shard shard = shard(key);
+            shard.tree = shard.tree().insert(key, word);
+            touch(shard, key);
+            modified = true;
+        }
+
+        public boolean remove(CharSequence key, Word word) {
+            Shard shard = shard(key);
+            PersistentRedBlackTree before = shard.tree();
+            shard.tree = before.remove(key, word);
+            if (shard.tree == before) {
+                return false;
+            }
+            touch(shard, key);
+            modified = true;
+            return true;
+        }
+
+        public boolean replace(CharSequence key, Word word, Word replacement) {
+            Shard shard = shard(key);
+            PersistentRedBlackTree before = shard.tree();
+            shard.tree = before.replace(key, word, replacement);
+            if (shard.tree == before) {
+                return false;
+            }
+            touch(shard, key);
+            modified = true;
+            return true;
+        }
+
+        public void move(CharSequence oldKey, Word word, String newKey, Word replacement) {
+            Shard from = shard(oldKey);
+            Shard to = shard(newKey);
+            if (from == to) {
+                from.tree = from.tree().remove(oldKey, word).insert(newKey, replacement);
+            } else {
+                to.tree = to.tree().insert(newKey, replacement);
+                from.tree = from.tree().remove(oldKey, word);
+            }
+            touch(to, newKey);
+            touch(from, oldKey);
+            modified = true;
+        }
+
+        @Override
+        public void close() {
+            if (modified) {
+                version.incrementAndGet();
+            }
+            for (int i = locked.length - 1; i >= 0; i--) {
+                shards[locked[i]].lock.unlockWrite(stamps[i]);
+            }
+        }
+    }
+
+    public Edit edit(CharSequence... keys) {
+        return new Edit(keys);
+    }
+
+    public void insert(String key, Word word) {
+        try (Edit edit = edit(key)) {
+            edit.insert(key, word);
+        }
+    }
+
+    public boolean remove(CharSequence key, Word word) {
+        try (Edit edit = edit(key)) {
+            return edit.remove(key, word);
+        }
+    }
+
+    public boolean replace(CharSequence key, Word word, Word replacement) {
+        try (Edit edit = edit(key)) {
+            return edit.replace(key, word, replacement);
+        }
+    }
+
+    void rebase(FrozenDictionary.Side base) {
+        Overlay empty = new Overlay(base, NO_OVERLAY.entries);
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.overlay = empty;
+                shard.tree = null;
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    int overlaySize() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.overlay.entries.size();
+        }
+        return size;
+    }
+
+    public List<Word> lookup(CharSequence key) {
+        Shard shard = shards[shardOf(key)];
+        Overlay overlay = shard.overlay;
+        List<Word> edited = overlay.get(key);
+        if (edited != null) {
+            return edited;
+        }
+        if (overlay.base != null) {
+            return overlay.base.lookup(key);
+        }
+        return shard.tree().searchAll(key);
+    }
+
+    public Word find(CharSequence key) {
+        Shard shard = shards[shardOf(key)];
+        Overlay overlay = shard.overlay;
+        List<Word> matches = overlay.get(key);
+        if (matches == null) {
+            if (overlay.base != null) {
+                return overlay.base.find(key);
+            }
+            matches = shard.tree().searchAll(key);
+        }
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    public PersistentRedBlackTree current() {
+        long seen = version.get();
+        Joined cached = joined;
+        if (cached != null && cached.version == seen) {
+            return cached.tree;
+        }
+        PersistentRedBlackTree tree = shards[0].tree();
+        for (int i = 1; i < SHARD_COUNT; i++) {
+            tree = PersistentRedBlackTree.join(tree, shards[i].tree());
+        }
+        joined = new Joined(seen, tree);
+        return tree;
+    }
+
+    @Override
+    public Word search(CharSequence key) {
+        Shard shard = shards[shardOf(key)];
+        Overlay overlay = shard.overlay;
+        List<Word> edited = overlay.get(key);
+        if (edited != null) {
+            return edited.isEmpty() ? null : edited.get(edited.size() - 1);
+        }
+        return overlay.base != null ? overlay.base.keys().search(key) : shard.tree().search(key);
+    }
+
+    @Override
+    public List<Word> searchAll(CharSequence key) {
+        Shard shard = shards[shardOf(key)];
+        Overlay overlay = shard.overlay;
+        List<Word> edited = overlay.get(key);
+        if (edited != null) {
+            return edited;
+        }
+        return overlay.base != null ? overlay.base.keys().searchAll(key) : shard.tree().searchAll(key);
+    }
+
+    public boolean containsWord(CharSequence key, Word word) {
+        Shard shard = shards[shardOf(key)];
+        Overlay overlay = shard.overlay;
+        List<Word> edited = overlay.get(key);
+        if (edited != null) {
+            for (Word candidate : edited) {
+                if (candidate == word) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return overlay.base != null ? overlay.base.keys().containsWord(key, word) : shard.tree().containsWord(key, word);
+    }
+
+    private FrozenDictionary.Side unedited() {
+        FrozenDictionary.Side base = shards[0].overlay.base;
+        if (base == null) {
+            return null;
+        }
+        for (Shard shard : shards) {
+            if (shard.overlay.base != base || shard.overlay.entries.size() > 0) {
+                return null;
+            }
+        }
+        return base;
+    }
+
+    @Override
+    public List<Word> getRecommendations(CharSequence prefix, int limit) {
+        List<Word> recommendations = new ArrayList<>();
+        forEachCompletion(prefix, limit, recommendations::add);
+        return recommendations;
+    }
+
+    public int forEachCompletion(CharSequence prefix, int limit, Consumer<? super Word> sink) {
+        if (prefix.length() > 0) {
+            Shard shard = shards[shardOf(prefix)];
+            Overlay overlay = shard.overlay;
+            if (overlay.base == null) {
+                return shard.tree().forEachCompletion(prefix, limit, sink);
+            }
+            return overlay.base.complete(prefix, limit, overlay.entries, sink);
+        }
+        int emitted = 0;
+        for (int i = 0; i < SHARD_COUNT && emitted < limit; i++) {
+            emitted += shards[i].tree().forEachCompletion(prefix, limit - emitted, sink);
+        }
+        return emitted;
+    }
+
+    public List<Word> suggest(CharSequence prefix, int limit) {
+        List<Word> suggestions = new ArrayList<>();
+        forEachSuggestion(prefix, limit, suggestions::add);
+        return suggestions;
+    }
+
+    public int forEachSuggestion(CharSequence prefix, int limit, Consumer<? super Word> sink) {
+        Shard shard = shards[shardOf(prefix)];
+        Overlay overlay = shard.overlay;
+        if (prefix.length() == 0 || overlay.base == null) {
+            return forEachCompletion(prefix, limit, sink);
+        }
+        return overlay.base.suggest(prefix, limit, overlay.entries, sink);
+    }
+
+    @Override
+    public List<Word> getAllWordsInOrder() {
+        FrozenDictionary.Side base = unedited();
+        if (base != null) {
+            return base.ordered().getAllWordsInOrder();
+        }
+        List<Word> words = new ArrayList<>();
+        for (Shard shard : shards) {
+            words.addAll(shard.tree().asList());
+        }
+        return words;
+    }
+
+    @Override
+    public List<String> getAllKeysInOrder() {
+        FrozenDictionary.Side base = unedited();
+        if (base != null) {
+            return base.ordered().getAllKeysInOrder();
+        }
+        List<String> keys = new ArrayList<>();
+        for (Shard shard : shards) {
+            keys.addAll(shard.tree().getAllKeysInOrder());
+        }
+        return keys;
+    }
+
+    public List<Word> page(int pageIndex, int pageSize) {
+        return current().page(pageIndex, pageSize);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.tree().size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Shard shard : shards) {
+            if (!shard.tree().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+package main.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+public class VersionedIndex implements WordIndex {
+    private static final int DEFAULT_HISTORY = 50;
+
+    private final int maxHistory;
+    private final Deque<PersistentRedBlackTree> history;
+    private volatile PersistentRedBlackTree current;
+
+    public VersionedIndex() {
+        this(PersistentRedBlackTree.empty(), DEFAULT_HISTORY);
+    }
+
+    public VersionedIndex(PersistentRedBlackTree initial, int maxHistory) {
+        if (maxHistory < 0) {
+            throw new IllegalArgumentException("maxHistory must not be negative: " + maxHistory);
+        }
+        this.maxHistory = maxHistory;
+        this.history = new ArrayDeque<>();
+        this.current = initial;
+    }
+
+    public PersistentRedBlackTree current() {
+        return current;
+    }
+
+    public PersistentRedBlackTree insert(String key, Word word) {
+        return apply(tree -> tree.insert(key, word));
+    }
+
+    public PersistentRedBlackTree remove(CharSequence key, Word word) {
+        return apply(tree -> tree.remove(key, word));
+    }
+
+    public PersistentRedBlackTree replace(CharSequence key, Word word, Word replacement) {
+        return apply(tree -> tree.replace(key, word, replacement));
+    }
+
+    public synchronized PersistentRedBlackTree apply(UnaryOperator<PersistentRedBlackTree> edit) {
+        PersistentRedBlackTree previous = current;
+        PersistentRedBlackTree next = edit.apply(previous);
+        if (next != previous) {
+            if (maxHistory > 0) {
+                if (history.size() == maxHistory) {
+                    history.removeLast();
+                }
+                history.push(previous);
+            }
+            current = next;
+        }
+        return next;
+    }
+
+    public synchronized boolean undo() {
+        PersistentRedBlackTree previous = history.poll();
+        if (previous == null) {
+            return false;
+        }
+        current = previous;
+        return true;
+    }
+
+    public synchronized boolean canUndo() {
+        return !history.isEmpty();
+    }
+
+    public synchronized int getHistorySize() {
+        return history.size();
+    }
+
+    @Override
+    public Word search(CharSequence key) {
+        return current.search(key);
+    }
+
+    @Override
+    public List<Word> searchAll(CharSequence key) {
+        return current.searchAll(key);
+    }
+
+    @Override
+    public List<Word> getRecommendations(CharSequence prefix, int limit) {
+        return current.getRecommendations(prefix, limit);
+    }
+
+    @Override
+    public List<Word> getAllWordsInOrder() {
+        return current.getAllWordsInOrder();
+    }
+
+    @Override
+    public List<String> getAllKeysInOrder() {
+        return current.getAllKeysInOrder();
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+}
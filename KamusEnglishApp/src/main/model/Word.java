@@ -1,51 +1,98 @@
 package main.model;
 
+import java.util.Objects;
+
 public class Word {
-    private String english;
-    private String indonesian;
-    private String category;
-    private String definitionEn;
-    private String definitionId;
-    private String gimmickType;
-    
+    private static final byte NO_CATEGORY = -1;
+
+    private final String english;
+    private final String indonesian;
+    private final byte partOfSpeech;
+    private final Details details;
+
+    private static final class Details {
+        final String category;
+        final String definitionEn;
+        final String definitionId;
+        final String gimmickType;
+
+        Details(String category, String definitionEn, String definitionId, String gimmickType) {
+            this.category = category;
+            this.definitionEn = definitionEn;
+            this.definitionId = definitionId;
+            this.gimmickType = gimmickType;
+        }
+    }
+
     public Word(String english, String indonesian, String category) {
         this(english, indonesian, category, "", "", null);
     }
-    
-    public Word(String english, String indonesian, String category, 
+
+    public Word(String english, String indonesian, String category,
                 String definitionEn, String definitionId, String gimmickType) {
+        PartOfSpeech pos = PartOfSpeech.fromLabel(category);
+        boolean customCategory = category != null && !category.equals(pos.getLabel());
+        boolean plainDefinitionEn = "".equals(definitionEn);
+        boolean plainDefinitionId = "".equals(definitionId);
+
         this.english = english;
-        this.indonesian = indonesian;
-        this.category = category;
-        this.definitionEn = definitionEn;
-        this.definitionId = definitionId;
-        this.gimmickType = gimmickType;
+        this.indonesian = indonesian != null && indonesian.equals(english) ? english : indonesian;
+        this.partOfSpeech = category == null ? NO_CATEGORY : pos.getCode();
+        if (customCategory || !plainDefinitionEn || !plainDefinitionId || gimmickType != null) {
+            this.details = new Details(
+                customCategory ? category : null,
+                definitionEn,
+                definitionId,
+                gimmickType != null ? gimmickType.intern() : null);
+        } else {
+            this.details = null;
+        }
     }
 
     public String getEnglish() { return english; }
     public String getIndonesian() { return indonesian; }
-    public String getCategory() { return category; }
-    public String getDefinitionEn() { return definitionEn; }
-    public String getDefinitionId() { return definitionId; }
-    public String getGimmickType() { return gimmickType; }
-    
+    public PartOfSpeech getPartOfSpeech() {
+        return partOfSpeech == NO_CATEGORY ? PartOfSpeech.OTHER : PartOfSpeech.fromCode(partOfSpeech);
+    }
+
+    public String getDefinitionEn() { return details != null ? details.definitionEn : ""; }
+    public String getDefinitionId() { return details != null ? details.definitionId : ""; }
+    public String getGimmickType() { return details != null ? details.gimmickType : null; }
+
+    public String getCategory() {
+        if (details != null && details.category != null) {
+            return details.category;
+        }
+        return partOfSpeech == NO_CATEGORY ? null : PartOfSpeech.fromCode(partOfSpeech).getLabel();
+    }
+
+    public boolean sameAs(Word other) {
+        return Objects.equals(english, other.english)
+                && Objects.equals(indonesian, other.indonesian)
+                && Objects.equals(getCategory(), other.getCategory())
+                && Objects.equals(getDefinitionEn(), other.getDefinitionEn())
+                && Objects.equals(getDefinitionId(), other.getDefinitionId())
+                && Objects.equals(getGimmickType(), other.getGimmickType());
+    }
+
     public boolean hasGimmick() {
-        return gimmickType != null && !gimmickType.isEmpty();
+        return details != null && details.gimmickType != null && !details.gimmickType.isEmpty();
     }
-    
+
     public boolean hasDefinition() {
-        return definitionEn != null && !definitionEn.isEmpty() && 
-               definitionId != null && !definitionId.isEmpty();
+        return details != null
+                && details.definitionEn != null && !details.definitionEn.isEmpty()
+                && details.definitionId != null && !details.definitionId.isEmpty();
     }
-    
+
     @Override
     public String toString() {
         if (!hasDefinition()) {
-            return english + " - " + indonesian + " (" + category + ")";
+            return english + " - " + indonesian + " (" + getCategory() + ")";
         } else {
-            return english + " - " + indonesian + " (" + category + ")\n" +
-                   "EN: " + definitionEn + "\n" +
-                   "ID: " + definitionId;
+            return english + " - " + indonesian + " (" + getCategory() + ")\n" +
+                   "EN: " + getDefinitionEn() + "\n" +
+                   "ID: " + getDefinitionId();
         }
     }
-}
\ No newline at end of file
+}
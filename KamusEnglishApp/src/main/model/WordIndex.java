@@ -0,0 +1,19 @@
+package main.model;
+
+import java.util.List;
+
+public interface WordIndex {
+    Word search(CharSequence key);
+
+    List<Word> searchAll(CharSequence key);
+
+    List<Word> getRecommendations(CharSequence prefix, int limit);
+
+    List<Word> getAllWordsInOrder();
+
+    List<String> getAllKeysInOrder();
+
+    int size();
+
+    boolean isEmpty();
+}
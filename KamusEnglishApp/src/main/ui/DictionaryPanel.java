@@ -3,24 +3,36 @@ package main.ui;
 import main.ui.components.BlurEffect;
 import main.ui.components.CorruptionPopup;
 import main.ui.components.ExplosionEffect;
+import main.service.DictionaryWatcher;
+import main.model.Definition;
 import main.model.Dictionary;
+import main.model.DictionaryJournal;
+import main.model.DictionaryReloader;
 import main.model.Word;
-import main.model.RedBlackTree;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.function.Consumer;
 import main.ui.components.OldEffect;
 import main.ui.components.MatrixRainEffect;
+import main.util.Constants;
 
 public class DictionaryPanel extends JPanel {
     private MainFrame mainFrame;
     private JTextArea resultArea;
     private JTextField searchField;
-    private RedBlackTree englishToIndonesianTree;
-    private RedBlackTree indonesianToEnglishTree;
-    private Dictionary dictionaryModel;
+    private volatile Dictionary dictionaryModel;
+    private DictionaryJournal journal;
+    private DictionaryReloader reloader;
+    private DictionaryWatcher dictionaryWatcher;
+    private final String[] dictionaryFiles;
     private JPanel contentPanel;
     private CardLayout contentCardLayout;
     private JPanel calculatorPanel;
@@ -38,56 +50,43 @@ public class DictionaryPanel extends JPanel {
     private JButton searchButton;
     private CorruptionPopup corruptionPopup;
     private Timer corruptionTimer;
+    private JPanel loadingPanel;
     private JProgressBar loadingBar;
-    private Timer loadingTimer;
-    private int loadingProgress = 0;
     private Timer autoSearchTimer;
+    private final Segment searchSegment = new Segment();
+    private final StringBuilder partialMatches = new StringBuilder();
+    private final Consumer<Word> partialMatchAppender = this::appendPartialMatch;
     private final int AUTO_SEARCH_DELAY = 300;
+    private final int MAX_SUGGESTIONS = 10;
 
-    public DictionaryPanel(MainFrame mainFrame) {
+    public DictionaryPanel(MainFrame mainFrame, String... dictionaryFiles) {
         this.mainFrame = mainFrame;
-        this.englishToIndonesianTree = new RedBlackTree();
-        this.indonesianToEnglishTree = new RedBlackTree();
-        this.dictionaryModel = new Dictionary();
+        this.dictionaryFiles = dictionaryFiles;
         initializeUI();
         setupCorruptionEffect();
         startLoadingDictionary();
     }
 
     private void startLoadingDictionary() {
-        loadingBar.setVisible(true);
-        loadingTimer = new Timer(20, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                loadingProgress += 2;
-                loadingBar.setValue(loadingProgress);
-                
-                if (loadingProgress >= 100) {
-                    loadingTimer.stop();
-                    loadingBar.setVisible(false);
-                    initializeDictionary();
-                }
-            }
-        });
-        loadingTimer.start();
+        loadingBar.setValue(0);
+        loadingPanel.setVisible(true);
+        initializeDictionary();
     }
 
     private void initializeDictionary() {
-        SwingWorker<Void, Integer> worker = new SwingWorker<Void, Integer>() {
+        SwingWorker<Dictionary, Integer> worker = new SwingWorker<Dictionary, Integer>() {
             @Override
-            protected Void doInBackground() throws Exception {
-                List<Word> allWords = dictionaryModel.getAllWords();
-                int total = allWords.size();
-                
-                for (int i = 0; i < total; i++) {
-                    Word word = allWords.get(i);
-                    englishToIndonesianTree.insert(word.getEnglish().toLowerCase(), word);
-                    indonesianToEnglishTree.insert(word.getIndonesian().toLowerCase(), word);
-                    
-                    publish((i * 100) / total);
-                    Thread.sleep(1);
+            protected Dictionary doInBackground() throws Exception {
+                Dictionary.ProgressListener listener = (stage, percent) -> publish(percent);
+                journal = openJournal();
+                Dictionary dictionary = journal != null ? Dictionary.open(listener, journal, dictionaryFiles)
+                                                        : Dictionary.open(listener, dictionaryFiles);
+                try {
+                    reloader = DictionaryReloader.capture(dictionaryFiles);
+                } catch (IOException e) {
+                    e.printStackTrace();
                 }
-                return null;
+                return dictionary;
             }
             
             @Override
@@ -100,13 +99,59 @@ public class DictionaryPanel extends JPanel {
             
             @Override
             protected void done() {
+                try {
+                    dictionaryModel = get();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
                 loadingBar.setValue(100);
-                loadingBar.setVisible(false);
+                loadingPanel.setVisible(false);
+                startWatchingDictionary();
             }
         };
         worker.execute();
     }
 
+    private DictionaryJournal openJournal() {
+        DictionaryJournal opened;
+        try {
+            opened = DictionaryJournal.open(Paths.get(Constants.JOURNAL_FILE));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                opened.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+        return opened;
+    }
+
+    private void startWatchingDictionary() {
+        if (reloader == null || dictionaryModel == null) {
+            return;
+        }
+        try {
+            dictionaryWatcher = new DictionaryWatcher(this::reloadDictionary, reloader.getSourceFiles());
+            if (dictionaryWatcher.isWatching()) {
+                dictionaryWatcher.start();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void reloadDictionary() {
+        try {
+            dictionaryModel = reloader.reload(dictionaryModel, journal, null);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     private void setupCorruptionEffect() {
         corruptionPopup = new CorruptionPopup(mainFrame);
         corruptionTimer = new Timer(8000, e -> {
@@ -148,7 +193,7 @@ public class DictionaryPanel extends JPanel {
         setBackground(new Color(25, 25, 35));
         setBorder(new EmptyBorder(10, 10, 10, 10));
 
-        JPanel loadingPanel = createLoadingPanel();
+        loadingPanel = createLoadingPanel();
         add(loadingPanel, BorderLayout.NORTH);
 
         contentCardLayout = new CardLayout();
@@ -355,34 +400,53 @@ public class DictionaryPanel extends JPanel {
         }
     }
 
+    private CharSequence readSearchText() {
+        Document document = searchField.getDocument();
+        try {
+            document.getText(0, document.getLength(), searchSegment);
+        } catch (BadLocationException e) {
+            searchSegment.count = 0;
+        }
+        
+        int start = searchSegment.offset;
+        int end = start + searchSegment.count;
+        while (start < end && searchSegment.array[start] <= ' ') start++;
+        while (end > start && searchSegment.array[end - 1] <= ' ') end--;
+        searchSegment.offset = start;
+        searchSegment.count = end - start;
+        return searchSegment;
+    }
+
+    private List<Word> findMatches(CharSequence searchText) {
+        Dictionary dictionary = dictionaryModel;
+        if (dictionary == null) {
+            return java.util.Collections.emptyList();
+        } else if (isEnglishToIndonesian) {
+            return dictionary.lookupEnglish(searchText);
+        } else {
+            return dictionary.lookupIndonesian(searchText);
+        }
+    }
+
     private void performAutoSearch() {
-        String raw = searchField.getText();
-        if (raw == null) raw = "";
-        String searchText = raw.trim().toLowerCase();
+        CharSequence searchText = readSearchText();
 
-        if (searchText.isEmpty()) {
+        if (searchText.length() == 0) {
             updateWelcomeMessage();
             return;
         }
 
-        if (searchText.length() >= 1) {
-            Word wordResult = null;
-            
-            if (isEnglishToIndonesian) {
-                wordResult = englishToIndonesianTree.search(searchText);
-            } else {
-                wordResult = indonesianToEnglishTree.search(searchText);
-            }
+        List<Word> wordResults = findMatches(searchText);
 
-            if (wordResult != null) {
-                if (wordResult.hasGimmick()) {
-                    executeGimmick(wordResult.getGimmickType(), searchText);
-                }
-                
-                displayWordResult(wordResult);
-            } else {
-                showPartialMatches(searchText);
+        if (!wordResults.isEmpty()) {
+            Word wordResult = wordResults.get(wordResults.size() - 1);
+            if (wordResult.hasGimmick()) {
+                executeGimmick(wordResult.getGimmickType(), searchText);
             }
+            
+            displayWordResult(wordResult, wordResults);
+        } else {
+            showPartialMatches(searchText);
         }
     }
 
@@ -390,11 +454,9 @@ public class DictionaryPanel extends JPanel {
         autoSearchTimer.stop();
         
         try {
-            String raw = searchField.getText();
-            if (raw == null) raw = "";
-            String searchText = raw.trim().toLowerCase();
+            CharSequence searchText = readSearchText();
 
-            if (searchText.isEmpty()) {
+            if (searchText.length() == 0) {
                 if (isEnglishToIndonesian) {
                     resultArea.setText("ERROR: Masukkan kata dalam bahasa Inggris");
                 } else {
@@ -403,20 +465,15 @@ public class DictionaryPanel extends JPanel {
                 return;
             }
 
-            Word wordResult = null;
-            
-            if (isEnglishToIndonesian) {
-                wordResult = englishToIndonesianTree.search(searchText);
-            } else {
-                wordResult = indonesianToEnglishTree.search(searchText);
-            }
+            List<Word> wordResults = findMatches(searchText);
 
-            if (wordResult != null) {
+            if (!wordResults.isEmpty()) {
+                Word wordResult = wordResults.get(wordResults.size() - 1);
                 if (wordResult.hasGimmick()) {
                     executeGimmick(wordResult.getGimmickType(), searchText);
                 }
                 
-                displayWordResult(wordResult);
+                displayWordResult(wordResult, wordResults);
             } else {
                 showPartialMatches(searchText);
             }
@@ -425,36 +482,40 @@ public class DictionaryPanel extends JPanel {
         }
     }
 
-    private void showPartialMatches(String searchText) {
-        List<Word> matches;
+    private void showPartialMatches(CharSequence searchText) {
+        StringBuilder result = partialMatches;
+        result.setLength(0);
+        result.append("Searching for: ").append(searchText).append("\n\n");
         
-        if (isEnglishToIndonesian) {
-            matches = englishToIndonesianTree.getRecommendations(searchText);
+        int found;
+        Dictionary dictionary = dictionaryModel;
+        if (dictionary == null) {
+            found = 0;
+        } else if (isEnglishToIndonesian) {
+            found = dictionary.forEachEnglishCompletion(searchText, MAX_SUGGESTIONS, partialMatchAppender);
         } else {
-            matches = indonesianToEnglishTree.getRecommendations(searchText);
+            found = dictionary.forEachIndonesianCompletion(searchText, MAX_SUGGESTIONS, partialMatchAppender);
         }
         
-        StringBuilder result = new StringBuilder();
-        result.append("Searching for: ").append(searchText).append("\n\n");
-        
-        if (matches.isEmpty()) {
+        if (found == 0) {
             result.append("No matches found.\n");
             result.append("Try typing more letters or check spelling.");
         } else {
-            for (Word word : matches) {
-                if (isEnglishToIndonesian) {
-                    result.append(word.getEnglish()).append(" - ").append(word.getIndonesian()).append("\n");
-                } else {
-                    result.append(word.getIndonesian()).append(" - ").append(word.getEnglish()).append("\n");
-                }
-            }
-            result.append("\nFound ").append(matches.size()).append(" matches.");
+            result.append("\nFound ").append(found).append(" matches.");
         }
         
         resultArea.setText(result.toString());
     }
 
-    private void executeGimmick(String gimmickType, String searchText) {
+    private void appendPartialMatch(Word word) {
+        if (isEnglishToIndonesian) {
+            partialMatches.append(word.getEnglish()).append(" - ").append(word.getIndonesian()).append("\n");
+        } else {
+            partialMatches.append(word.getIndonesian()).append(" - ").append(word.getEnglish()).append("\n");
+        }
+    }
+
+    private void executeGimmick(String gimmickType, CharSequence searchText) {
         if (gimmickType == null) return;
         
         switch (gimmickType) {
@@ -492,7 +553,7 @@ public class DictionaryPanel extends JPanel {
         }
     }
 
-    private void displayWordResult(Word word) {
+    private void displayWordResult(Word word, List<Word> allResults) {
         StringBuilder result = new StringBuilder();
         
         if (isEnglishToIndonesian) {
@@ -505,11 +566,25 @@ public class DictionaryPanel extends JPanel {
             result.append("Category: ").append(word.getCategory()).append("\n");
         }
         
-        if (word.hasDefinition()) {
+        Dictionary dictionary = dictionaryModel;
+        Definition definition = dictionary != null ? dictionary.getDefinition(word) : null;
+        if (definition != null) {
             result.append("\nEnglish Definition:\n");
-            result.append(word.getDefinitionEn()).append("\n\n");
+            result.append(definition.getEnglish()).append("\n\n");
             result.append("Indonesian Definition:\n");
-            result.append(word.getDefinitionId()).append("\n");
+            result.append(definition.getIndonesian()).append("\n");
+        }
+        
+        StringBuilder others = new StringBuilder();
+        for (Word other : allResults) {
+            String translation = isEnglishToIndonesian ? other.getIndonesian() : other.getEnglish();
+            String shown = isEnglishToIndonesian ? word.getIndonesian() : word.getEnglish();
+            if (other != word && !translation.equalsIgnoreCase(shown)) {
+                others.append("- ").append(translation).append(" (").append(other.getCategory()).append(")\n");
+            }
+        }
+        if (others.length() > 0) {
+            result.append("\nOther translations:\n").append(others);
         }
         
         resultArea.setText(result.toString());
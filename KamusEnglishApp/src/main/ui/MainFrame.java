@@ -7,8 +7,10 @@ public class MainFrame extends JFrame {
     private CardLayout cardLayout;
     private JPanel mainPanel;
     private DictionaryPanel dictionaryPanel;
+    private final String[] dictionaryFiles;
     
-    public MainFrame() {
+    public MainFrame(String... dictionaryFiles) {
+        this.dictionaryFiles = dictionaryFiles;
         initializeUI();
     }
     
@@ -29,7 +31,7 @@ public class MainFrame extends JFrame {
         mainPanel.setBackground(new Color(18, 18, 18));
 
         DashboardPanel dashboardPanel = new DashboardPanel(this);
-        dictionaryPanel = new DictionaryPanel(this);
+        dictionaryPanel = new DictionaryPanel(this, dictionaryFiles);
         
         mainPanel.add(dashboardPanel, "DASHBOARD");
         mainPanel.add(dictionaryPanel, "DICTIONARY");
@@ -55,7 +57,7 @@ public class MainFrame extends JFrame {
     
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
-            new MainFrame().setVisible(true);
+            new MainFrame(args).setVisible(true);
         });
     }
 }
\ No newline at end of file
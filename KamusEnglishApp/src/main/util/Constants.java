@@ -20,6 +20,10 @@ public class Constants {
     public static final String VERSION = "2.0";
     
     public static final String DICTIONARY_FILE = "src/resources/data/dictionary.txt";
+    public static final String SNAPSHOT_FILE = "src/resources/data/dictionary.snapshot";
+    public static final String PERFECT_HASH_FILE = "src/resources/data/dictionary.mph";
+    public static final String JOURNAL_FILE = "src/resources/data/dictionary.journal";
+    public static final String DEFINITIONS_FILE = "src/resources/data/definitions.txt";
     public static final String CORRUPT_OFFICERS_FILE = "src/resources/data/corrupt_officers.txt";
     
     public static final String[] GIMMICK_TYPES = {
@@ -0,0 +1,48 @@
+package main.util;
+
+public final class KeyNormalizer {
+    private KeyNormalizer() {
+    }
+
+    public static String fold(String key) {
+        int length = key.length();
+        int i = 0;
+        while (i < length && Character.toLowerCase(key.charAt(i)) == key.charAt(i)) {
+            i++;
+        }
+        if (i == length) {
+            return key;
+        }
+
+        char[] folded = key.toCharArray();
+        for (; i < length; i++) {
+            folded[i] = Character.toLowerCase(folded[i]);
+        }
+        return new String(folded);
+    }
+
+    public static int compare(CharSequence key, String folded) {
+        int length = Math.min(folded.length(), key.length());
+        for (int i = 0; i < length; i++) {
+            char a = Character.toLowerCase(key.charAt(i));
+            char b = folded.charAt(i);
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return key.length() - folded.length();
+    }
+
+    public static boolean startsWith(String folded, CharSequence prefix) {
+        int length = prefix.length();
+        if (length > folded.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (folded.charAt(i) != Character.toLowerCase(prefix.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}